@@ -0,0 +1,19 @@
+package com.optimaize.wanakana;
+
+/**
+ * Reaches package private hooks of the library for the benchmarks. Only in the benchmark sources.
+ */
+public final class BenchmarkHooks {
+
+    private BenchmarkHooks() {
+    }
+
+    /**
+     * @param compute to compute the lookup tables at startup instead of reading the ones generated by the build.
+     *                Only has an effect before the tables are used.
+     */
+    public static void computeTables(boolean compute) {
+        GeneratedTables.computeInstead(compute);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.HiraganaToRomajiConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HiraganaToRomajiConverter#convertAll(List)} against a plain loop over convert(), by batch size.
+ * Names of 3 to 8 chars, as in the name exports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param({"100", "2048", "100000"})
+    public int batchSize;
+
+    private List<String> names;
+
+    private final HiraganaToRomajiConverter hiraganaToRomaji = HiraganaToRomajiConverter.getInstance();
+
+    @Setup
+    public void setup() {
+        names = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            names.add(BenchmarkInputs.generate(BenchmarkInputs.ScriptMix.HIRAGANA, 3 + i % 6, i));
+        }
+    }
+
+    @Benchmark
+    public List<String> loop() {
+        List<String> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(hiraganaToRomaji.convert(name));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> convertAll() {
+        return hiraganaToRomaji.convertAll(names);
+    }
+
+}
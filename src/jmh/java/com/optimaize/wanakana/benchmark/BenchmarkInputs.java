@@ -0,0 +1,123 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.HiraganaToKatakanaConverter;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible benchmark inputs of a given length and script mix.
+ *
+ * The syllables are taken from common Japanese surnames and given names, so the long vowel and
+ * double consonant rules of the converters are exercised about as often as in real name data.
+ */
+public final class BenchmarkInputs {
+
+    /**
+     * The scripts a generated input is made of.
+     */
+    public enum ScriptMix {
+        HIRAGANA,
+        KATAKANA,
+        ROMAJI,
+        /**
+         * Name Kanji, some of them outside the Basic Multilingual Plane, so 2 chars each.
+         */
+        KANJI,
+        /**
+         * Hiragana, Katakana, Kanji, Romaji and Japanese punctuation mixed, like a free text field.
+         */
+        MIXED
+    }
+
+    private static final String[] HIRAGANA_SYLLABLES = {
+            "さ", "とう", "すず", "き", "たか", "はし", "やま", "ぐち", "こう", "しょう",
+            "りゅう", "かっ", "ぱ", "い", "の", "まえ", "おお", "の", "みょう", "じ",
+            "ちゃ", "ん", "ふ", "ゆ", "み", "え", "ね", "ろう", "わ", "だ"
+    };
+
+    private static final String[] ROMAJI_SYLLABLES = {
+            "sa", "tou", "suzu", "ki", "taka", "hashi", "yama", "guchi", "kou", "shou",
+            "ryuu", "kap", "pa", "i", "no", "mae", "oo", "no", "myou", "ji",
+            "cha", "n", "fu", "yu", "mi", "e", "ne", "rou", "wa", "da"
+    };
+
+    private static final String[] KANJI = {
+            "佐", "藤", "鈴", "木", "高", "橋", "山", "口", "田", "中"
+    };
+
+    private static final String[] NAME_KANJI = {
+            "佐", "藤", "鈴", "木", "高", "橋", "山", "口", "田", "中",
+            "𠮷", "﨑", "髙", "𡈽", "邊", "齋"
+    };
+
+    private static final String[] PUNCTUATION = {
+            "　", "、", "。", "・"
+    };
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * @param length exact length of the returned string, in chars
+     * @param seed   same seed, same string
+     */
+    public static String generate(ScriptMix mix, int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(length + 8);
+        while (sb.length() < length) {
+            sb.append(syllable(mix, random));
+        }
+        sb.setLength(length);
+        if (length > 0 && Character.isHighSurrogate(sb.charAt(length - 1))) {
+            sb.setCharAt(length - 1, '山');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Hiragana name with exactly <code>longVowels</code> syllables that romanize to "ō" and thus expand
+     * to 3 variants each.
+     */
+    public static String nameWithLongVowels(int longVowels) {
+        StringBuilder sb = new StringBuilder("た");
+        for (int i = 0; i < longVowels; i++) {
+            sb.append("こう").append("か");
+        }
+        sb.append("はし");
+        return sb.toString();
+    }
+
+    private static String syllable(ScriptMix mix, Random random) {
+        switch (mix) {
+            case HIRAGANA:
+                return pick(HIRAGANA_SYLLABLES, random);
+            case KATAKANA:
+                return HiraganaToKatakanaConverter.getInstance().convert(pick(HIRAGANA_SYLLABLES, random));
+            case ROMAJI:
+                return pick(ROMAJI_SYLLABLES, random);
+            case KANJI:
+                return pick(NAME_KANJI, random);
+            case MIXED:
+                switch (random.nextInt(6)) {
+                    case 0:
+                    case 1:
+                        return pick(HIRAGANA_SYLLABLES, random);
+                    case 2:
+                        return HiraganaToKatakanaConverter.getInstance().convert(pick(HIRAGANA_SYLLABLES, random));
+                    case 3:
+                        return pick(KANJI, random);
+                    case 4:
+                        return pick(ROMAJI_SYLLABLES, random);
+                    default:
+                        return pick(PUNCTUATION, random);
+                }
+            default:
+                throw new UnsupportedOperationException("Unsupported mix: " + mix);
+        }
+    }
+
+    private static String pick(String[] pool, Random random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.HiraganaToKatakanaConverter;
+import com.optimaize.wanakana.HiraganaToRomajiConverter;
+import com.optimaize.wanakana.KanaToRomajiConverter;
+import com.optimaize.wanakana.KatakanaToHiraganaConverter;
+import com.optimaize.wanakana.RomajiToHiraganaConverter;
+import com.optimaize.wanakana.RomajiToKatakanaConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link com.optimaize.wanakana.Converter} implementations, by input length and script mix.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"3", "16", "256", "10000"})
+    public int length;
+
+    @Param({"HIRAGANA", "KATAKANA", "ROMAJI", "MIXED"})
+    public BenchmarkInputs.ScriptMix mix;
+
+    private String input;
+    private char[] chars;
+
+    private final HiraganaToRomajiConverter hiraganaToRomaji = HiraganaToRomajiConverter.getInstance();
+    private final HiraganaToKatakanaConverter hiraganaToKatakana = HiraganaToKatakanaConverter.getInstance();
+    private final KatakanaToHiraganaConverter katakanaToHiragana = KatakanaToHiraganaConverter.getInstance();
+    private final KanaToRomajiConverter kanaToRomaji = KanaToRomajiConverter.getInstance();
+    private final RomajiToHiraganaConverter romajiToHiragana = RomajiToHiraganaConverter.getInstance();
+    private final RomajiToKatakanaConverter romajiToKatakana = RomajiToKatakanaConverter.getInstance();
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.generate(mix, length, 42);
+        chars = input.toCharArray();
+    }
+
+    @Benchmark
+    public String hiraganaToRomaji() {
+        return hiraganaToRomaji.convert(input);
+    }
+
+    @Benchmark
+    public String hiraganaToKatakana() {
+        return hiraganaToKatakana.convert(input);
+    }
+
+    @Benchmark
+    public String katakanaToHiragana() {
+        return katakanaToHiragana.convert(input);
+    }
+
+    /**
+     * In 2 steps, through an intermediate Hiragana string.
+     */
+    @Benchmark
+    public String katakanaToRomaji() {
+        return hiraganaToRomaji.convert(katakanaToHiragana.convert(input));
+    }
+
+    /**
+     * Same result as {@link #katakanaToRomaji()}, in a single pass.
+     */
+    @Benchmark
+    public String kanaToRomaji() {
+        return kanaToRomaji.convert(input);
+    }
+
+    /**
+     * Both 1:1 conversions where the chars are, without allocating. Leaves the chars as they were.
+     */
+    @Benchmark
+    public boolean kanaShiftInPlace() {
+        boolean changed = hiraganaToKatakana.convertInPlace(chars, 0, chars.length);
+        return katakanaToHiragana.convertInPlace(chars, 0, chars.length) | changed;
+    }
+
+    @Benchmark
+    public String romajiToHiragana() {
+        return romajiToHiragana.convert(input);
+    }
+
+    @Benchmark
+    public String romajiToKatakana() {
+        return romajiToKatakana.convert(input);
+    }
+
+}
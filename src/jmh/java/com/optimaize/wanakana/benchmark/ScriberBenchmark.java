@@ -0,0 +1,136 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.Script;
+import com.optimaize.wanakana.Scriber;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Scriber} classification methods, by input length and script mix.
+ *
+ * The string methods stop at the first character that does not match, so the mixed input mostly
+ * measures the early exit, and the pure inputs measure the full scan.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScriberBenchmark {
+
+    @Param({"3", "16", "256", "10000"})
+    public int length;
+
+    @Param({"HIRAGANA", "KATAKANA", "ROMAJI", "KANJI", "MIXED"})
+    public BenchmarkInputs.ScriptMix mix;
+
+    private String input;
+
+    private final Scriber scriber = Scriber.getInstance();
+
+    private final int[] runs = new int[3 * 64];
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.generate(mix, length, 42);
+    }
+
+    @Benchmark
+    public boolean isHiragana() {
+        return scriber.isHiragana(input);
+    }
+
+    @Benchmark
+    public boolean isKatakana() {
+        return scriber.isKatakana(input);
+    }
+
+    @Benchmark
+    public boolean isKanji() {
+        return scriber.isKanji(input);
+    }
+
+    @Benchmark
+    public boolean isJapanesePunctuation() {
+        return scriber.isJapanesePunctuation(input);
+    }
+
+    @Benchmark
+    public boolean isAscii() {
+        return scriber.isAscii(input);
+    }
+
+    /**
+     * Classifies every character, like a router that looks at each one.
+     */
+    @Benchmark
+    public void isCharEach(Blackhole blackhole) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            blackhole.consume(scriber.isCharHiragana(c));
+            blackhole.consume(scriber.isCharKatakana(c));
+            blackhole.consume(scriber.isCharKanji(c));
+        }
+    }
+
+    /**
+     * Splits into script runs with a callback.
+     */
+    @Benchmark
+    public void segment(Blackhole blackhole) {
+        scriber.segment(input, (start, length, script) -> blackhole.consume(start + length));
+    }
+
+    /**
+     * Splits into script runs in a reused buffer.
+     */
+    @Benchmark
+    public int segmentIntoBuffer() {
+        int runCount = 0;
+        int start = 0;
+        int count;
+        while ((count = scriber.segment(input, start, runs)) > 0) {
+            runCount += count;
+            start = runs[3 * count - 3] + runs[3 * count - 2];
+        }
+        return runCount;
+    }
+
+    /**
+     * What segment replaces: finding the runs by checking ever longer substrings.
+     */
+    @Benchmark
+    public int segmentBySubstrings() {
+        int runCount = 0;
+        int start = 0;
+        while (start < input.length()) {
+            int end = start + 1;
+            Script script = scriber.classify(input.charAt(start));
+            while (end < input.length() && isScript(input.substring(start, end + 1), script)) {
+                end++;
+            }
+            runCount++;
+            start = end;
+        }
+        return runCount;
+    }
+
+    private boolean isScript(String s, Script script) {
+        switch (script) {
+            case HIRAGANA:
+                return scriber.isHiragana(s);
+            case KATAKANA:
+                return scriber.isKatakana(s);
+            case KANJI:
+                return scriber.isKanji(s);
+            case JAPANESE_PUNCTUATION:
+                return scriber.isJapanesePunctuation(s);
+            default:
+                return scriber.classify(s.charAt(s.length() - 1)) == script;
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.BenchmarkHooks;
+import com.optimaize.wanakana.HiraganaToRomajiConverter;
+import com.optimaize.wanakana.RomajiToHiraganaConverter;
+import com.optimaize.wanakana.Scriber;
+import com.optimaize.wanakana.WanaKana;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first conversions in a fresh JVM, like a short lived CLI or serverless job, with the lookup tables
+ * generated by the build and with the tables computed at startup.
+ *
+ * Every fork measures 1 cold call, so the score is the mean over 10 forks. It includes loading the classes.
+ * {@link #firstConversions} covers the converters, Scriber and WanaKana.toRomaji, and
+ * {@link #firstWanaKanaConversions} WanaKana.toHiragana and toKatakana on their own.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean computeTables;
+
+    @Setup
+    public void setup() {
+        //before any class of the library is loaded
+        BenchmarkHooks.computeTables(computeTables);
+    }
+
+    @Benchmark
+    public void firstConversions(Blackhole blackhole) {
+        blackhole.consume(HiraganaToRomajiConverter.getInstance().convert("さとう"));
+        blackhole.consume(RomajiToHiraganaConverter.getInstance().convert("satou"));
+        blackhole.consume(WanaKana.getInstance().toRomaji("さとう"));
+        blackhole.consume(Scriber.getInstance().isHiragana("さとう"));
+    }
+
+    /**
+     * On its own, so that nothing else loaded the classes it needs.
+     */
+    @Benchmark
+    public void firstWanaKanaConversions(Blackhole blackhole) {
+        blackhole.consume(WanaKana.getInstance().toHiragana("satou"));
+        blackhole.consume(WanaKana.getInstance().toKatakana("さとう"));
+    }
+
+}
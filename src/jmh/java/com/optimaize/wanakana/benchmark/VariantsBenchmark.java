@@ -0,0 +1,45 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.HiraganaToRomajiConverter;
+import com.optimaize.wanakana.VariantWeights;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link HiraganaToRomajiConverter#convertToVariants}, which grows with 3^k for k long vowels "ō", and of
+ * taking only the most likely ones with {@link HiraganaToRomajiConverter#convertToTopVariants}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariantsBenchmark {
+
+    @Param({"0", "1", "3", "6"})
+    public int longVowels;
+
+    private String input;
+
+    private final HiraganaToRomajiConverter converter = HiraganaToRomajiConverter.getInstance();
+    private final VariantWeights weights = VariantWeights.longO(6, 3, 1);
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.nameWithLongVowels(longVowels);
+    }
+
+    @Benchmark
+    public List<String> convertToVariants() {
+        return converter.convertToVariants(input);
+    }
+
+    @Benchmark
+    public List<String> convertToTopVariants() {
+        return converter.convertToTopVariants(input, 5, weights);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.WanaKana;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link WanaKana}, to compare with {@link WanaKanaJavaBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WanaKanaBenchmark {
+
+    @Param({"3", "16", "256", "10000"})
+    public int length;
+
+    private String kana;
+    private String romaji;
+
+    private WanaKana wanaKana;
+
+    @Setup
+    public void setup() {
+        kana = BenchmarkInputs.generate(BenchmarkInputs.ScriptMix.HIRAGANA, length, 42);
+        romaji = BenchmarkInputs.generate(BenchmarkInputs.ScriptMix.ROMAJI, length, 42);
+        wanaKana = WanaKana.getInstance();
+    }
+
+    @Benchmark
+    public String toRomaji() {
+        return wanaKana.toRomaji(kana);
+    }
+
+    @Benchmark
+    public String toKana() {
+        return wanaKana.toKana(romaji);
+    }
+
+    @Benchmark
+    public String toHiragana() {
+        return wanaKana.toHiragana(romaji);
+    }
+
+    @Benchmark
+    public String toKatakana() {
+        return wanaKana.toKatakana(kana);
+    }
+
+    @Benchmark
+    public WanaKana newInstance() {
+        return WanaKana.builder().useObsoleteKana(false).build();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.optimaize.wanakana.benchmark;
+
+import com.optimaize.wanakana.WanaKanaJava;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the legacy {@link WanaKanaJava} class, including the cost of creating an instance.
+ */
+@SuppressWarnings("deprecation")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WanaKanaJavaBenchmark {
+
+    @Param({"3", "16", "256", "10000"})
+    public int length;
+
+    private String kana;
+    private String romaji;
+
+    private WanaKanaJava wanaKanaJava;
+
+    @Setup
+    public void setup() {
+        kana = BenchmarkInputs.generate(BenchmarkInputs.ScriptMix.HIRAGANA, length, 42);
+        romaji = BenchmarkInputs.generate(BenchmarkInputs.ScriptMix.ROMAJI, length, 42);
+        wanaKanaJava = new WanaKanaJava(false);
+    }
+
+    @Benchmark
+    public String toRomaji() {
+        return wanaKanaJava.toRomaji(kana);
+    }
+
+    @Benchmark
+    public String toKana() {
+        return wanaKanaJava.toKana(romaji);
+    }
+
+    @Benchmark
+    public String toHiragana() {
+        return wanaKanaJava.toHiragana(romaji);
+    }
+
+    @Benchmark
+    public String toKatakana() {
+        return wanaKanaJava.toKatakana(kana);
+    }
+
+    @Benchmark
+    public WanaKanaJava newInstance() {
+        return new WanaKanaJava(false);
+    }
+
+}
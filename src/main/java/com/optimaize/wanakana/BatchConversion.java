@@ -0,0 +1,121 @@
+package com.optimaize.wanakana;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Applies a conversion to every input of a batch, for {@link Converter#convertAll} and
+ * {@link Converter#convertAllToVariants}.
+ *
+ * Batches below {@link #PARALLEL_THRESHOLD} inputs are converted on the caller thread. Larger ones are split into
+ * slices of at least {@link #MIN_SLICE} inputs, about 4 per thread, so that a slow slice does not hold up the rest.
+ * In a ForkJoinPool the slices are forked and joined, unless its parallelism is 1; on any other executor the caller
+ * converts the last slice itself while waiting for the others.
+ */
+final class BatchConversion {
+
+    /**
+     * Converting a name takes well under a microsecond, so below this the handoff costs more than it saves.
+     */
+    static final int PARALLEL_THRESHOLD = 2048;
+
+    static final int MIN_SLICE = 512;
+
+    private BatchConversion() {
+    }
+
+    /**
+     * @return the results in the order of the inputs. Unmodifiable.
+     */
+    static <R> List<R> convertAll(List<String> inputs, Function<String, R> conversion, Executor executor) {
+        String[] in = inputs.toArray(new String[0]);
+        Object[] out = new Object[in.length];
+        if (in.length < PARALLEL_THRESHOLD) {
+            convertSlice(in, out, 0, in.length, conversion);
+        } else if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            if (pool.getParallelism() <= 1) {
+                //eg the common pool on a single cpu: splitting only adds overhead
+                convertSlice(in, out, 0, in.length, conversion);
+            } else {
+                int slice = sliceSize(in.length, pool.getParallelism());
+                pool.invoke(new SliceAction<>(in, out, 0, in.length, slice, conversion));
+            }
+        } else {
+            convertOn(executor, in, out, conversion);
+        }
+        @SuppressWarnings("unchecked")
+        List<R> result = (List<R>) Collections.unmodifiableList(Arrays.asList(out));
+        return result;
+    }
+
+    private static <R> void convertOn(Executor executor, String[] in, Object[] out, Function<String, R> conversion) {
+        int slice = sliceSize(in.length, Runtime.getRuntime().availableProcessors());
+        int slices = (in.length + slice - 1) / slice;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[slices - 1];
+        for (int i = 0; i < slices - 1; i++) {
+            int from = i * slice;
+            int to = from + slice;
+            futures[i] = CompletableFuture.runAsync(() -> convertSlice(in, out, from, to, conversion), executor);
+        }
+        convertSlice(in, out, (slices - 1) * slice, in.length, conversion);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static int sliceSize(int inputs, int parallelism) {
+        return Math.max(MIN_SLICE, inputs / (Math.max(1, parallelism) * 4));
+    }
+
+    private static <R> void convertSlice(String[] in, Object[] out, int from, int to, Function<String, R> conversion) {
+        for (int i = from; i < to; i++) {
+            out[i] = conversion.apply(in[i]);
+        }
+    }
+
+    private static final class SliceAction<R> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] in;
+        private final Object[] out;
+        private final int from;
+        private final int to;
+        private final int slice;
+        private final Function<String, R> conversion;
+
+        SliceAction(String[] in, Object[] out, int from, int to, int slice, Function<String, R> conversion) {
+            this.in = in;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+            this.conversion = conversion;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= slice) {
+                convertSlice(in, out, from, to, conversion);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SliceAction<>(in, out, from, middle, slice, conversion),
+                    new SliceAction<>(in, out, middle, to, slice, conversion));
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.optimaize.wanakana;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps a {@link Converter} and remembers the results for the most used inputs.
+ *
+ * <p>Meant for skewed traffic such as names, where a few thousand surnames make up most calls. Up to
+ * <code>maximumSize</code> results of {@link #convert(String)} and as many of {@link #convertToVariants(String)}
+ * are kept; when full, inputs that were hit rarely are evicted first (GCLOCK). Hits take no lock.</p>
+ *
+ * <p>Thread safe if the wrapped converter is. The cached variant lists are unmodifiable, so they can be shared.
+ * The other methods go through {@link #convert(String)}, so they use the cache too, eg per line when streaming.</p>
+ */
+public final class CachingConverter implements Converter {
+
+    private final Converter delegate;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final GClockCache<String> converted;
+    private final GClockCache<List<String>> variants;
+
+    /**
+     * @param maximumSize at least 1, how many results to keep for each of convert and convertToVariants.
+     */
+    public CachingConverter(Converter delegate, int maximumSize) {
+        this.delegate = delegate;
+        this.converted = new GClockCache<>(maximumSize, evictions);
+        this.variants = new GClockCache<>(maximumSize, evictions);
+    }
+
+    @Override
+    public String convert(String input) {
+        String result = converted.get(input);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        return converted.put(input, delegate.convert(input));
+    }
+
+    /**
+     * @return unmodifiable.
+     */
+    @Override
+    public List<String> convertToVariants(String input) {
+        List<String> result = variants.get(input);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        List<String> computed = Collections.unmodifiableList(new ArrayList<>(delegate.convertToVariants(input)));
+        return variants.put(input, computed);
+    }
+
+    /**
+     * @return how many results are cached now, for convert and convertToVariants together.
+     */
+    public int size() {
+        return converted.size() + variants.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Counters since the cache was created, for convert and convertToVariants together.
+     * A snapshot; the counters are read one after the other, not atomically.
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return hits / (hits + misses), 1.0 when there was no call yet.
+         */
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 1.0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + '}';
+        }
+    }
+
+}
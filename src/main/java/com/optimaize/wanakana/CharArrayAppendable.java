@@ -0,0 +1,78 @@
+package com.optimaize.wanakana;
+
+/**
+ * Appends into a caller supplied char array, for the <code>char[]</code> methods of the {@link Converter}s.
+ *
+ * Never throws IOException. Throws ArrayIndexOutOfBoundsException when the array is full.
+ */
+final class CharArrayAppendable implements Appendable {
+
+    private char[] dest;
+    private int offset;
+    private int position;
+
+    CharArrayAppendable(char[] dest, int offset) {
+        reset(dest, offset);
+    }
+
+    /**
+     * Empty, {@link #reset} before use.
+     */
+    CharArrayAppendable() {
+    }
+
+    /**
+     * Starts over, to write into <code>dest</code> from <code>offset</code> on.
+     */
+    void reset(char[] dest, int offset) {
+        this.dest = dest;
+        this.offset = offset;
+        this.position = offset;
+    }
+
+    /**
+     * @return how many chars were written.
+     */
+    int length() {
+        return position - offset;
+    }
+
+    /**
+     * Replaces every double <code>vowel</code> from <code>from</code> on with <code>contracted</code>, left to
+     * right, as String.replace would.
+     *
+     * @param from counted like {@link #length()}
+     */
+    void contract(int from, char vowel, char contracted) {
+        int to = offset + from;
+        for (int i = to; i < position; to++) {
+            char c = dest[i++];
+            if (c == vowel && i < position && dest[i] == vowel) {
+                c = contracted;
+                i++;
+            }
+            dest[to] = c;
+        }
+        position = to;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        dest[position++] = c;
+        return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; i++) {
+            dest[position++] = csq.charAt(i);
+        }
+        return this;
+    }
+
+}
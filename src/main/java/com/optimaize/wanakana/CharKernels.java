@@ -0,0 +1,95 @@
+package com.optimaize.wanakana;
+
+import java.nio.CharBuffer;
+
+/**
+ * Bulk loops over many chars, for the 1:1 kana conversions and {@link Scriber#isAscii(String)}.
+ *
+ * <p>The loops over <code>char[]</code> have no branch in their body, only arithmetic and masks, so that the JIT
+ * compiler can vectorize them (C2 superword: several chars per SIMD instruction). The library targets Java 8, so
+ * there is no Vector API; where the JIT does not vectorize, they run as plain scalar loops, still without branch
+ * mispredictions.</p>
+ */
+final class CharKernels {
+
+    /**
+     * How many chars the CharSequence version of {@link #isAscii} looks at between its checks for an early exit.
+     */
+    private static final int ASCII_BLOCK = 64;
+
+    private CharKernels() {
+    }
+
+    /**
+     * Copies <code>src</code> from <code>start</code> to <code>end</code> into <code>dest</code>, in bulk for
+     * Strings, StringBuilders and array backed CharBuffers.
+     */
+    static void copy(CharSequence src, int start, int end, char[] dest, int destOffset) {
+        if (src instanceof String) {
+            ((String) src).getChars(start, end, dest, destOffset);
+        } else if (src instanceof StringBuilder) {
+            ((StringBuilder) src).getChars(start, end, dest, destOffset);
+        } else if (src instanceof CharBuffer && ((CharBuffer) src).hasArray()) {
+            CharBuffer buffer = (CharBuffer) src;
+            if (start < 0 || start > end || end > buffer.remaining()) {
+                throw new IndexOutOfBoundsException(
+                        "start " + start + ", end " + end + ", length " + buffer.remaining());
+            }
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position() + start, dest, destOffset,
+                    end - start);
+        } else {
+            for (int i = start; i < end; i++) {
+                dest[destOffset + i - start] = src.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * Adds <code>offset</code> to every char from <code>first</code> to <code>last</code> (inclusive), in place.
+     *
+     * @return if any char was shifted.
+     */
+    static boolean shift(char[] chars, int start, int end, char first, char last, int offset) {
+        int span = last - first + 1;
+        int shifted = 0;
+        for (int i = start; i < end; i++) {
+            int c = chars[i];
+            int d = c - first;
+            //-1 if 0 <= d < span, 0 otherwise: the sign bits of d - span and of d
+            int inRange = ((d - span) & ~d) >> 31;
+            chars[i] = (char) (c + (offset & inRange));
+            shifted |= inRange;
+        }
+        return shifted != 0;
+    }
+
+    /**
+     * @return true if all chars are below 0x80, also for none.
+     */
+    static boolean isAscii(char[] chars, int start, int end) {
+        int bits = 0;
+        for (int i = start; i < end; i++) {
+            bits |= chars[i];
+        }
+        return bits < 0x80;
+    }
+
+    /**
+     * @return true if all chars are below 0x80, also for none. Stops soon after the first other char.
+     */
+    static boolean isAscii(CharSequence s, int start, int end) {
+        int i = start;
+        while (i < end) {
+            int blockEnd = Math.min(end, i + ASCII_BLOCK);
+            int bits = 0;
+            for (; i < blockEnd; i++) {
+                bits |= s.charAt(i);
+            }
+            if (bits >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.optimaize.wanakana;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie over chars, compiled once from a mapping table such as the one from
+ * {@link HiraganaToRomajiData#prepareHiraToRomaji()}.
+ *
+ * <p>The converters walk it char by char straight from their input with {@link #step} and {@link #value},
+ * so matching a chunk does not create substrings, and there is no hashing.</p>
+ *
+ * <p>The nodes are stored in flat arrays. The children of a node occupy a dense range of slots, from its
+ * lowest to its highest child char. Kana are close together in Unicode, so the ranges are short.</p>
+ *
+ * <p>The arrays can be written with {@link #write} and read back with {@link #read}, without compiling again; see
+ * {@link GeneratedTables}.</p>
+ */
+final class CharTrie {
+
+    /**
+     * The node to start every match from.
+     */
+    static final int ROOT = 0;
+
+    /**
+     * Returned by {@link #step} when there is no such child.
+     */
+    static final int NONE = -1;
+
+    /**
+     * "CTR2", the start of the written form, and its version.
+     */
+    private static final int MAGIC = 0x43545232;
+
+    private final char[] low;
+    private final int[] childOffset;
+    private final int[] childSpan;
+    private final int[] children;
+    private final String[] values;
+
+    private CharTrie(char[] low, int[] childOffset, int[] childSpan, int[] children, String[] values) {
+        this.low = low;
+        this.childOffset = childOffset;
+        this.childSpan = childSpan;
+        this.children = children;
+        this.values = values;
+    }
+
+    /**
+     * @param table keys must not be empty.
+     */
+    static CharTrie compile(Map<String, String> table) {
+        Building root = new Building();
+        for (Map.Entry<String, String> entry : table.entrySet()) {
+            String key = entry.getKey();
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("Empty key in table!");
+            }
+            Building node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Building());
+            }
+            node.value = entry.getValue();
+        }
+
+        //number the nodes breadth first, the root gets 0
+        List<Building> nodes = new ArrayList<>();
+        Map<Building, Integer> index = new IdentityHashMap<>();
+        nodes.add(root);
+        index.put(root, ROOT);
+        for (int i = 0; i < nodes.size(); i++) {
+            for (Building child : nodes.get(i).children.values()) {
+                index.put(child, nodes.size());
+                nodes.add(child);
+            }
+        }
+
+        int size = nodes.size();
+        char[] low = new char[size];
+        int[] childOffset = new int[size];
+        int[] childSpan = new int[size];
+        String[] values = new String[size];
+        int totalSlots = 0;
+        for (int i = 0; i < size; i++) {
+            Building node = nodes.get(i);
+            values[i] = node.value;
+            childOffset[i] = totalSlots;
+            if (!node.children.isEmpty()) {
+                low[i] = node.children.firstKey();
+                childSpan[i] = node.children.lastKey() - low[i] + 1;
+                totalSlots += childSpan[i];
+            }
+        }
+        int[] children = new int[totalSlots];
+        Arrays.fill(children, NONE);
+        for (int i = 0; i < size; i++) {
+            for (Map.Entry<Character, Building> child : nodes.get(i).children.entrySet()) {
+                children[childOffset[i] + child.getKey() - low[i]] = index.get(child.getValue());
+            }
+        }
+        return new CharTrie(low, childOffset, childSpan, children, values);
+    }
+
+    /**
+     * @return the child of <code>node</code> for the char <code>c</code>, or {@link #NONE}.
+     */
+    int step(int node, char c) {
+        int slot = c - low[node];
+        if (slot < 0 || slot >= childSpan[node]) {
+            return NONE;
+        }
+        return children[childOffset[node] + slot];
+    }
+
+    /**
+     * @return the mapping of the key that ends at <code>node</code>, or null if no key ends there.
+     */
+    String value(int node) {
+        return values[node];
+    }
+
+    /**
+     * Exact lookup, like {@link Map#get} with <code>s.subSequence(start, end)</code> as the key.
+     *
+     * @return null if there is no mapping.
+     */
+    String get(CharSequence s, int start, int end) {
+        int node = ROOT;
+        for (int i = start; i < end; i++) {
+            node = step(node, s.charAt(i));
+            if (node == NONE) {
+                return null;
+            }
+        }
+        return values[node];
+    }
+
+    /**
+     * Writes the flat arrays, to be read back with {@link #read}.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(low.length);
+        out.writeInt(children.length);
+        for (char c : low) {
+            out.writeChar(c);
+        }
+        for (int span : childSpan) {
+            out.writeInt(span);
+        }
+        for (int child : children) {
+            out.writeInt(child);
+        }
+        StringBuilder chars = new StringBuilder();
+        for (String value : values) {
+            out.writeInt(value == null ? -1 : value.length());
+            if (value != null) {
+                chars.append(value);
+            }
+        }
+        out.writeInt(chars.length());
+        out.writeChars(chars.toString());
+    }
+
+    /**
+     * Reads the arrays in bulk, without hashing or compiling.
+     *
+     * @param in big endian, as written by {@link #write}
+     * @throws IOException if the input is not a trie written by {@link #write}.
+     */
+    static CharTrie read(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a CharTrie, or written by another version");
+            }
+            int size = in.getInt();
+            char[] low = new char[size];
+            int[] childOffset = new int[size];
+            int[] childSpan = new int[size];
+            int[] children = new int[in.getInt()];
+            String[] values = new String[size];
+            in.asCharBuffer().get(low);
+            skip(in, 2 * size);
+            in.asIntBuffer().get(childSpan);
+            skip(in, 4 * size);
+            in.asIntBuffer().get(children);
+            skip(in, 4 * children.length);
+            int[] valueLengths = new int[size];
+            in.asIntBuffer().get(valueLengths);
+            skip(in, 4 * size);
+            char[] chars = new char[in.getInt()];
+            in.asCharBuffer().get(chars);
+
+            int totalSlots = 0;
+            int charOffset = 0;
+            for (int i = 0; i < size; i++) {
+                childOffset[i] = totalSlots;
+                totalSlots += childSpan[i];
+                if (valueLengths[i] >= 0) {
+                    values[i] = new String(chars, charOffset, valueLengths[i]);
+                    charOffset += valueLengths[i];
+                }
+            }
+            if (totalSlots != children.length) {
+                throw new IOException("Corrupt CharTrie: " + children.length + " child slots, expected " + totalSlots);
+            }
+            return new CharTrie(low, childOffset, childSpan, children, values);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Corrupt CharTrie", e);
+        }
+    }
+
+    private static void skip(ByteBuffer in, int bytes) {
+        ((Buffer) in).position(in.position() + bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CharTrie)) {
+            return false;
+        }
+        CharTrie other = (CharTrie) o;
+        return Arrays.equals(low, other.low)
+                && Arrays.equals(childSpan, other.childSpan)
+                && Arrays.equals(children, other.children)
+                && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(children) + Arrays.hashCode(values);
+    }
+
+
+    private static class Building {
+        final TreeMap<Character, Building> children = new TreeMap<>();
+        String value;
+    }
+
+}
@@ -17,6 +17,17 @@ public class Constants {
     public static final int KANJI_END = 0x9FAF; //common and uncommon kanji
     public static final int RARE_KANJI_START = 0x3400;
     public static final int RARE_KANJI_END = 0x4DBF;
+    /**
+     * CJK Compatibility Ideographs, eg "﨑" as used in names.
+     */
+    public static final int COMPATIBILITY_KANJI_START = 0xF900;
+    public static final int COMPATIBILITY_KANJI_END = 0xFAFF;
+    /**
+     * The Supplementary and Tertiary Ideographic Planes: CJK Extension B and later, eg "𠮷", and the compatibility
+     * supplement. Outside the Basic Multilingual Plane, so 2 chars (a surrogate pair) each in a String.
+     */
+    public static final int SUPPLEMENTARY_KANJI_START = 0x20000;
+    public static final int SUPPLEMENTARY_KANJI_END = 0x3FFFF;
     public static final int JAPANESE_PUNCTUATION_START = 0x3000;
     public static final int JAPANESE_PUNCTUATION_END = 0x303F;
 
@@ -1,7 +1,12 @@
 package com.optimaize.wanakana;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Converts strings from one script to another, or any combination thereof.
@@ -19,6 +24,51 @@ public interface Converter {
      */
     String convert(String input);
 
+    /**
+     * Converts the chars from <code>start</code> (inclusive) to <code>end</code> (exclusive) of <code>input</code>
+     * and appends the result to <code>out</code>. Same result as {@link #convert(String)} on that part.
+     *
+     * The default implementation goes through {@link #convert(String)}. Converters override it to convert
+     * without the intermediate strings.
+     *
+     * @throws IOException only if <code>out</code> throws.
+     */
+    default void convert(CharSequence input, int start, int end, Appendable out) throws IOException {
+        out.append(convert(input.subSequence(start, end).toString()));
+    }
+
+    /**
+     * Converts the chars from <code>start</code> (inclusive) to <code>end</code> (exclusive) of <code>input</code>
+     * and writes the result into <code>dest</code>, starting at <code>destOffset</code>.
+     * Same result as {@link #convert(String)} on that part.
+     *
+     * The default implementation goes through {@link #convert(String)}. Converters override it to convert
+     * without the intermediate strings.
+     *
+     * @return how many chars were written.
+     * @throws IndexOutOfBoundsException if <code>dest</code> is too small. Converters document how much room they need.
+     */
+    default int convert(CharSequence input, int start, int end, char[] dest, int destOffset) {
+        String result = convert(input.subSequence(start, end).toString());
+        result.getChars(0, result.length(), dest, destOffset);
+        return result.length();
+    }
+
+    /**
+     * Converts everything from <code>in</code> into <code>out</code>, line by line: each line as by
+     * {@link #convert(String)}, with the line terminators kept. Closes neither.
+     *
+     * The default implementation holds one line at a time in memory. Converters override it to convert in
+     * constant memory, whatever the length of the lines; they document where a bound on what they hold back
+     * changes the result.
+     *
+     * @throws IOException if reading or writing fails.
+     */
+    default void convert(Reader in, Writer out) throws IOException {
+        StringBuilder converted = new StringBuilder();
+        StreamingConversion.convert(in, out, StreamingConversion.wholeLines(this, converted), converted);
+    }
+
     /**
      * @return with 1 to n unique entries.
      */
@@ -26,4 +76,45 @@ public interface Converter {
         return Collections.singletonList(convert(input));
     }
 
+    /**
+     * {@link #convert(String)} for every input, spread over the common ForkJoinPool when the batch is large.
+     *
+     * @return the results in the order of the inputs. Unmodifiable.
+     */
+    default List<String> convertAll(List<String> inputs) {
+        return convertAll(inputs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * {@link #convert(String)} for every input. Small batches (below a couple of thousand inputs) are converted
+     * on the caller thread, larger ones in slices on the <code>executor</code>, with the caller thread
+     * converting one of the slices.
+     *
+     * Converters must be safe to call from several threads at once to be used here; all in this package are.
+     *
+     * @return the results in the order of the inputs. Unmodifiable.
+     */
+    default List<String> convertAll(List<String> inputs, Executor executor) {
+        return BatchConversion.convertAll(inputs, this::convert, executor);
+    }
+
+    /**
+     * {@link #convertToVariants(String)} for every input, spread over the common ForkJoinPool when the batch is
+     * large.
+     *
+     * @return the variants in the order of the inputs. Unmodifiable.
+     */
+    default List<List<String>> convertAllToVariants(List<String> inputs) {
+        return convertAllToVariants(inputs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * {@link #convertToVariants(String)} for every input, split like {@link #convertAll(List, Executor)}.
+     *
+     * @return the variants in the order of the inputs. Unmodifiable.
+     */
+    default List<List<String>> convertAllToVariants(List<String> inputs, Executor executor) {
+        return BatchConversion.convertAll(inputs, this::convertToVariants, executor);
+    }
+
 }
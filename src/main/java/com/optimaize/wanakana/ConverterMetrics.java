@@ -0,0 +1,166 @@
+package com.optimaize.wanakana;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of an {@link InstrumentedConverter}, readable from code and over JMX.
+ *
+ * Every counter is a LongAdder, so recording from many threads does not contend. The latency and variant count
+ * distributions are kept in power of 2 buckets, 64 LongAdders each.
+ */
+public final class ConverterMetrics implements ConverterMetricsMBean {
+
+    private static final int BUCKETS = 64;
+
+    private volatile boolean enabled = true;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder variantCalls = new LongAdder();
+    private final LongAdder characters = new LongAdder();
+    private final LongAdder passThroughCharacters = new LongAdder();
+    private final LongAdder[] latency = newBuckets();
+    private final LongAdder[] variantCounts = newBuckets();
+
+    ConverterMetrics() {
+    }
+
+    private static LongAdder[] newBuckets() {
+        LongAdder[] buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        return buckets;
+    }
+
+    /**
+     * Registers this with the platform MBeanServer as <code>com.optimaize.wanakana:type=Converter,name=...</code>.
+     *
+     * @return the name, to unregister it later.
+     * @throws JMException if the name is taken or invalid.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.optimaize.wanakana:type=Converter,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    void recordCall(int characters, int passThrough, long nanos) {
+        calls.increment();
+        this.characters.add(characters);
+        passThroughCharacters.add(passThrough);
+        latency[bucket(nanos)].increment();
+    }
+
+    void recordVariants(int variants) {
+        variantCalls.increment();
+        variantCounts[bucket(variants)].increment();
+    }
+
+    /**
+     * @return 0 for 0, else the number of bits: 1 for 1, 2 for 2..3, 3 for 4..7, ...
+     */
+    private static int bucket(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, value)));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getVariantCalls() {
+        return variantCalls.sum();
+    }
+
+    @Override
+    public long getCharacters() {
+        return characters.sum();
+    }
+
+    @Override
+    public long getPassThroughCharacters() {
+        return passThroughCharacters.sum();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return percentile(getLatencyHistogram(), 0.50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return percentile(getLatencyHistogram(), 0.99);
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        return sums(latency);
+    }
+
+    @Override
+    public long[] getVariantCountHistogram() {
+        return sums(variantCounts);
+    }
+
+    /**
+     * Not atomic: calls recorded meanwhile may be partly kept.
+     */
+    @Override
+    public void reset() {
+        calls.reset();
+        variantCalls.reset();
+        characters.reset();
+        passThroughCharacters.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            latency[i].reset();
+            variantCounts[i].reset();
+        }
+    }
+
+    private static long[] sums(LongAdder[] buckets) {
+        long[] sums = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            sums[i] = buckets[i].sum();
+        }
+        return sums;
+    }
+
+    /**
+     * @return the upper bound of the bucket that holds the percentile, 0 if there are no values.
+     */
+    static long percentile(long[] histogram, double percentile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.optimaize.wanakana;
+
+/**
+ * The JMX view of {@link ConverterMetrics}. All counts are since creation or the last {@link #reset()}.
+ */
+public interface ConverterMetricsMBean {
+
+    /**
+     * Turns the counting on and off. When off, the {@link InstrumentedConverter} only delegates.
+     */
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return recorded calls: convert with a String, Appendable or char[] output, and convertToVariants. The
+     *         character and latency figures cover the same calls. convert from a Reader is not recorded.
+     */
+    long getCalls();
+
+    /**
+     * @return the convertToVariants calls among {@link #getCalls()}.
+     */
+    long getVariantCalls();
+
+    /**
+     * @return input characters of all calls.
+     */
+    long getCharacters();
+
+    /**
+     * @return input characters that are not in a script the converter converts, so that they pass through as is
+     *         (or get lost).
+     */
+    long getPassThroughCharacters();
+
+    /**
+     * @return the median latency of a call, in nanoseconds: the upper bound of its power of 2 bucket.
+     */
+    long getLatencyP50Nanos();
+
+    /**
+     * @return the 99th percentile latency of a call, in nanoseconds: the upper bound of its power of 2 bucket.
+     */
+    long getLatencyP99Nanos();
+
+    /**
+     * @return call counts by latency: index i counts calls that took less than 2^i nanoseconds (and at least
+     *         2^(i-1)).
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * @return convertToVariants calls by the number of variants: index i counts results with less than 2^i
+     *         variants (and at least 2^(i-1)).
+     */
+    long[] getVariantCountHistogram();
+
+    void reset();
+
+}
@@ -0,0 +1,151 @@
+package com.optimaize.wanakana;
+
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Converts whole UTF-8 files, using all cores.
+ *
+ * <p>The input file is memory mapped and cut into chunks of about 4MB, each ending after a line terminator. A line
+ * ends at every '\n' and at every '\r', so "\r\n" ends two lines, the second one empty. The chunks are decoded and
+ * converted on the executor, and written to the output file in order, as UTF-8. The result is the same as
+ * {@link Converter#convert(java.io.Reader, java.io.Writer)} on the whole file: every line is converted on its
+ * own.</p>
+ *
+ * <p>At most two chunks per thread are in flight at once, whatever the file size. Invalid UTF-8 is replaced
+ * with U+FFFD. A single line may not be longer than 2GB.</p>
+ */
+public final class FileConversion {
+
+    static final int DEFAULT_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * How far to look at once for the line terminator that ends a chunk.
+     */
+    private static final int SCAN_BYTES = 64 * 1024;
+
+    private FileConversion() {
+    }
+
+    /**
+     * Converts on the common ForkJoinPool.
+     *
+     * @see #convert(Converter, Path, Path, Executor)
+     */
+    public static void convert(Converter converter, Path input, Path output) throws IOException {
+        convert(converter, input, output, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Converts <code>input</code> into <code>output</code>, which is created or overwritten.
+     *
+     * <p>Up to 2 &times; the parallelism of the executor chunks are in flight at once, the parallelism of a
+     * ForkJoinPool or else the number of cores. Each holds its chars before and after the conversion and its
+     * encoded output, several times its 4MB on the heap; more for a line longer than a chunk, which is never
+     * split.</p>
+     *
+     * @param converter must be safe to call from several threads at once; all in this package are.
+     * @throws IOException if reading or writing fails, or a line is longer than 2GB.
+     */
+    public static void convert(Converter converter, Path input, Path output, Executor executor) throws IOException {
+        int parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        convert(converter, input, output, executor, DEFAULT_CHUNK_BYTES, 2 * Math.max(1, parallelism));
+    }
+
+    static void convert(Converter converter, Path input, Path output, Executor executor,
+                        int chunkBytes, int maxChunksInFlight) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            Deque<CompletableFuture<ByteBuffer>> inFlight = new ArrayDeque<>();
+            long start = 0;
+            while (start < size) {
+                long end = chunkEnd(in, start, chunkBytes, size);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IOException("Line too long at byte " + start + " of " + input);
+                }
+                MappedByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                if (inFlight.size() >= maxChunksInFlight) {
+                    write(join(inFlight.removeFirst()), out);
+                }
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> convertChunk(converter, chunk), executor));
+                start = end;
+            }
+            while (!inFlight.isEmpty()) {
+                write(join(inFlight.removeFirst()), out);
+            }
+        }
+    }
+
+    /**
+     * @return the position after the first '\n' or '\r' at or after <code>start + chunkBytes</code>, or the end
+     *         of the file. Each ends a line on its own, so a "\r\n" may be split. Neither byte is ever part of a
+     *         multi byte UTF-8 char.
+     */
+    private static long chunkEnd(FileChannel in, long start, int chunkBytes, long size) throws IOException {
+        long position = start + chunkBytes - 1;
+        while (position < size) {
+            int length = (int) Math.min(SCAN_BYTES, size - position);
+            MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                if (b == '\n' || b == '\r') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private static ByteBuffer convertChunk(Converter converter, ByteBuffer chunk) {
+        CharBuffer chars = StandardCharsets.UTF_8.decode(chunk);
+        CharArrayWriter converted = new CharArrayWriter(chars.remaining() * 2);
+        try {
+            converter.convert(new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(),
+                    chars.remaining()), converted);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(converted.toCharArray()));
+    }
+
+    private static ByteBuffer join(CompletableFuture<ByteBuffer> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void write(ByteBuffer bytes, FileChannel out) throws IOException {
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.optimaize.wanakana;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded map from input to conversion result, for {@link CachingConverter}.
+ *
+ * <p>Eviction is GCLOCK: every entry has a small use counter, bumped on each hit. When the cache is full, a clock
+ * hand sweeps over the entries, decrementing the counters, and evicts the first entry whose counter is 0. Entries
+ * that are hit often survive several sweeps, one-off inputs go first.</p>
+ *
+ * <p>Reads are lock free: a ConcurrentHashMap lookup and a plain counter write, where a lost or late update now
+ * and then does no harm. Inserts and evictions take a lock; they only happen on a miss, after the (much slower)
+ * conversion.</p>
+ *
+ * <p>The clock grows with the entries, so a large bound costs no memory until it is used.</p>
+ */
+final class GClockCache<V> {
+
+    /**
+     * The counter saturates here, so that a once popular entry does not stay forever.
+     */
+    private static final int MAX_USES = 3;
+
+    private static final int INITIAL_CLOCK_SIZE = 16;
+
+    private final ConcurrentHashMap<String, Entry<V>> map = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private Entry<V>[] clock;
+    private int size = 0;
+    private int hand = 0;
+
+    private final LongAdder evictions;
+
+    @SuppressWarnings("unchecked")
+    GClockCache(int maximumSize, LongAdder evictions) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1, was: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.clock = (Entry<V>[]) new Entry<?>[Math.min(maximumSize, INITIAL_CLOCK_SIZE)];
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return the cached value, or null.
+     */
+    V get(String key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.uses < MAX_USES) {
+            entry.uses++;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Adds the value, evicting another entry if the cache is full.
+     *
+     * @return the value now cached for the key: <code>value</code>, or the one another thread added first.
+     */
+    synchronized V put(String key, V value) {
+        Entry<V> existing = map.get(key);
+        if (existing != null) {
+            return existing.value;
+        }
+        Entry<V> entry = new Entry<>(key, value);
+        if (size < maximumSize) {
+            if (size == clock.length) {
+                clock = Arrays.copyOf(clock, (int) Math.min(maximumSize, 2L * clock.length));
+            }
+            clock[size++] = entry;
+        } else {
+            while (clock[hand].uses > 0) {
+                clock[hand].uses--;
+                hand = (hand + 1) % clock.length;
+            }
+            map.remove(clock[hand].key);
+            evictions.increment();
+            clock[hand] = entry;
+            hand = (hand + 1) % clock.length;
+        }
+        map.put(key, entry);
+        return value;
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    private static final class Entry<V> {
+        final String key;
+        final V value;
+        /**
+         * Written without synchronization by readers, a plain int: only a hint for the eviction.
+         */
+        int uses = 0;
+
+        Entry(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+}
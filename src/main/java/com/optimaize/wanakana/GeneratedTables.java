@@ -0,0 +1,129 @@
+package com.optimaize.wanakana;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The lookup tables that are generated by the build, for a fast startup.
+ *
+ * <p>Filling the mapping tables with hundreds of puts and compiling them into tries, and classifying every char
+ * for the {@link ScriptTable}, costs startup time. So the build does it once with the TableGenerator of the test
+ * sources, in the process-test-classes phase (see the pom), and writes the results next to this class as
+ * resources. At runtime every table is read from its resource the first time it is needed: a few arrays read in
+ * bulk, no hashing. If a resource is missing (eg classes compiled by an IDE only, or a build without the test
+ * sources), the table is computed as before.</p>
+ */
+final class GeneratedTables {
+
+    /**
+     * If the tables are computed instead of read, see {@link #computeInstead(boolean)}.
+     */
+    private static volatile boolean computeInstead = false;
+
+    static final String HIRAGANA_TO_ROMAJI = "hiragana-to-romaji.trie";
+    static final String ROMAJI_TO_KANA = "romaji-to-kana.trie";
+    static final String KANA_TO_ROMAJI = "kana-to-romaji.trie";
+    static final String SCRIPTS = "scripts.table";
+
+    private GeneratedTables() {
+    }
+
+    /**
+     * For the startup benchmark, to compare with computing the tables: only has an effect on the tables not used
+     * yet.
+     */
+    static void computeInstead(boolean compute) {
+        computeInstead = compute;
+    }
+
+    /**
+     * @see HiraganaToRomajiData#prepareHiraToRomaji()
+     */
+    static CharTrie hiraganaToRomaji() {
+        return HiraganaToRomaji.TRIE;
+    }
+
+    /**
+     * @see WanaKanaData#ROMAJI_TO_KANA
+     */
+    static CharTrie romajiToKana() {
+        return RomajiToKana.TRIE;
+    }
+
+    /**
+     * @see WanaKanaData#KANA_TO_ROMAJI
+     */
+    static CharTrie kanaToRomaji() {
+        return KanaToRomaji.TRIE;
+    }
+
+    //a holder per table, so that each is only loaded when used. No lambdas here, their bootstrap costs startup time.
+
+    private static class HiraganaToRomaji {
+        static final CharTrie TRIE;
+
+        static {
+            CharTrie generated = load(HIRAGANA_TO_ROMAJI);
+            TRIE = generated != null ? generated : CharTrie.compile(HiraganaToRomajiData.prepareHiraToRomaji());
+        }
+    }
+
+    private static class RomajiToKana {
+        static final CharTrie TRIE;
+
+        static {
+            CharTrie generated = load(ROMAJI_TO_KANA);
+            TRIE = generated != null ? generated : CharTrie.compile(WanaKanaData.ROMAJI_TO_KANA);
+        }
+    }
+
+    private static class KanaToRomaji {
+        static final CharTrie TRIE;
+
+        static {
+            CharTrie generated = load(KANA_TO_ROMAJI);
+            TRIE = generated != null ? generated : CharTrie.compile(WanaKanaData.KANA_TO_ROMAJI);
+        }
+    }
+
+    /**
+     * @return the generated trie, or null if there is none to use: compile it then.
+     */
+    static CharTrie load(String resource) {
+        ByteBuffer generated = read(resource);
+        if (generated != null) {
+            try {
+                return CharTrie.read(generated);
+            } catch (IOException e) {
+                //unreadable, to be compiled instead
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the content of the resource, or null if it is missing or the tables are to be computed.
+     */
+    static ByteBuffer read(String resource) {
+        if (computeInstead) {
+            return null;
+        }
+        try (InputStream in = GeneratedTables.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(bytes.toByteArray());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
@@ -1,11 +1,18 @@
 package com.optimaize.wanakana;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
 /**
  * Converts Hiragana syllables to Katakana.
  * The conversion is 1:1.
  */
 public class HiraganaToKatakanaConverter implements Converter {
 
+    private static final int HIRAGANA_TO_KATAKANA = Constants.KATAKANA_START - Constants.HIRAGANA_START;
+
     private HiraganaToKatakanaConverter() {
     }
 
@@ -17,25 +24,90 @@ public class HiraganaToKatakanaConverter implements Converter {
 
     /**
      * Converts Hiragana script to Katakana script
+     *
+     * @return the input itself if it has no Hiragana.
      */
     @Override
     public String convert(String hiragana) {
-        int unicode;
-        StringBuilder katakana = new StringBuilder();
-
-        for (int i = 0; i < hiragana.length(); i++) {
-            char hiraganaChar = hiragana.charAt(i);
-
-            if (Scriber.getInstance().isCharHiragana(hiraganaChar)) {
-                unicode = hiraganaChar;
-                unicode += Constants.KATAKANA_START - Constants.HIRAGANA_START;
-                katakana.append(String.valueOf(Character.toChars(unicode)));
-            } else {
-                katakana.append(hiraganaChar);
+        char[] converted = new char[hiragana.length()];
+        hiragana.getChars(0, hiragana.length(), converted, 0);
+        return convertInPlace(converted, 0, converted.length) ? new String(converted) : hiragana;
+    }
+
+    /**
+     * Converts the chars from <code>start</code> to <code>end</code> where they are, without a copy.
+     *
+     * @return if any char was changed; false if there was no Hiragana.
+     */
+    public boolean convertInPlace(char[] chars, int start, int end) {
+        if (start < 0 || start > end || end > chars.length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + chars.length);
+        }
+        return CharKernels.shift(chars, start, end,
+                (char) Constants.HIRAGANA_START, (char) Constants.HIRAGANA_END, HIRAGANA_TO_KATAKANA);
+    }
+
+    /**
+     * Converts the remaining chars of the buffer where they are, without a copy. The position and limit stay
+     * the same.
+     *
+     * @return if any char was changed; false if there was no Hiragana.
+     * @throws java.nio.ReadOnlyBufferException if there is something to convert and the buffer is read only.
+     */
+    public boolean convertInPlace(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            return CharKernels.shift(chars.array(), start, start + chars.remaining(),
+                    (char) Constants.HIRAGANA_START, (char) Constants.HIRAGANA_END, HIRAGANA_TO_KATAKANA);
+        }
+        boolean changed = false;
+        for (int i = chars.position(); i < chars.limit(); i++) {
+            char c = chars.get(i);
+            char converted = convertChar(c);
+            if (converted != c) {
+                chars.put(i, converted);
+                changed = true;
             }
         }
+        return changed;
+    }
+
+    @Override
+    public void convert(CharSequence hiragana, int start, int end, Appendable out) throws IOException {
+        for (int i = start; i < end; i++) {
+            out.append(convertChar(hiragana.charAt(i)));
+        }
+    }
+
+    /**
+     * Streams in constant memory.
+     */
+    @Override
+    public void convert(Reader hiragana, Writer katakana) throws IOException {
+        StringBuilder converted = new StringBuilder(StreamingConversion.BUFFER_SIZE);
+        StreamingConversion.convert(hiragana, katakana, (chars, start, end, lineEnds) -> {
+            convert(chars, start, end, converted);
+            return end;
+        }, converted);
+    }
 
-        return katakana.toString();
+    /**
+     * The conversion is 1:1, so <code>dest</code> needs room for <code>end - start</code> chars.
+     * Converts many chars per step, see {@link CharKernels}.
+     */
+    @Override
+    public int convert(CharSequence hiragana, int start, int end, char[] dest, int destOffset) {
+        CharKernels.copy(hiragana, start, end, dest, destOffset);
+        CharKernels.shift(dest, destOffset, destOffset + end - start,
+                (char) Constants.HIRAGANA_START, (char) Constants.HIRAGANA_END, HIRAGANA_TO_KATAKANA);
+        return end - start;
+    }
+
+    private char convertChar(char c) {
+        if (ScriptTable.of(c) == Script.HIRAGANA) {
+            return (char) (c + HIRAGANA_TO_KATAKANA);
+        }
+        return c;
     }
 
 }
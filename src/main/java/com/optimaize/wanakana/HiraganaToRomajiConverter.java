@@ -1,12 +1,16 @@
 package com.optimaize.wanakana;
 
-import crema.math.algo.combinatorics.RuleOfProductComboBuilder;
-
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Converts Hiragana syllables to Romaji.</p>
- * <p>Convert Katakana to Hiragana before you call this method.</p>
+ * <p>Convert Katakana to Hiragana before you call this method, or use {@link KanaToRomajiConverter}.</p>
  * <br>
  * <p><strong>Transcription rules for names</strong></p>
  * <br>
@@ -28,10 +32,15 @@ public class HiraganaToRomajiConverter implements Converter {
 
     private Scriber scriber = Scriber.getInstance();
 
-    private Map<String, String> hiraToRomaji;
+    /**
+     * From {@link HiraganaToRomajiData#prepareHiraToRomaji()}, matched straight from the input chars.
+     */
+    private final CharTrie hiraToRomaji;
+    private final PerThread transcriptions;
 
     private HiraganaToRomajiConverter() {
-        this.hiraToRomaji = HiraganaToRomajiData.prepareHiraToRomaji();
+        this.hiraToRomaji = GeneratedTables.hiraganaToRomaji();
+        this.transcriptions = new PerThread(hiraToRomaji, false);
     }
 
     private static class ConverterLazyHolder {
@@ -43,144 +52,674 @@ public class HiraganaToRomajiConverter implements Converter {
     }
 
     /**
+     * Works in a single pass. The long vowel context is kept in the output itself: a "う" that does not form
+     * a syllable with the next char turns a preceding "o" into "ō". A word ending in "uu" gets every "uu" turned
+     * into "ū", eg "kyūshū", else a word ending in "oo" every "oo" into "ō". Otherwise they are kept, eg "ryuuen".
+     *
+     * Whitespace (and control characters) around a kana is dropped when the kana is matched together with it,
+     * like String.trim() does. Other characters it has no conversion for are kept.
+     *
      * @return Romaji in which diphthongs are converted into vowels with macrons. See: https://en.wiktionary.org/wiki/macron
      */
     @Override
     public String convert(String hiragana) {
-        String chunk = ""; //chars to work with
-        int chunkSize; //size of chars to work with
-        int cursor = 0; //used to iterate through each character
-        int len = hiragana.length();
-        int maxChunk = 2; //maximum size of chars to work with
-        boolean nextCharIsDoubleConsonant = false;
-        StringBuilder latin = new StringBuilder();
-        String latinChar = null;
-
-        //Iterate through the entire word, 2 hiragana chars at a time, and then 1 at a time
-        while (cursor < len) {
-            //can be max 2 characters at once; Math.min in case there is 1 character
-            chunkSize = Math.min(maxChunk, len - cursor);
-            while (chunkSize > 0) {
-                chunk = hiragana.substring(cursor, (cursor + chunkSize)).trim(); //cut from cursor position up until the char to work with
-
-                //we dont do magic, user has to convert it first.
-//                //in case there is katakana in the text, by mistake, translate it
-//                if (scriber.isKatakana(chunk)) {
-//                    chunk = KatakanaToHiraganaConverter.getInstance().convert(chunk);
-//                }
-
-                //detect double consonant
-                if (chunkSize == 1 && String.valueOf(chunk.charAt(0)).equals("っ") && cursor < (len - 1)) {
-                    nextCharIsDoubleConsonant = true;
-                    latinChar = "";
-                    break;
+        StringBuilder latin = new StringBuilder(hiragana.length() * 2);
+        try {
+            transcriptions.acquire().run(hiragana, 0, hiragana.length(), latin);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return latin.toString();
+        //can manually capitalize if you want to. is simple, almost 1 line only.
+//        return WordUtils.capitalizeFully(result);
+    }
+
+    /**
+     * Same as {@link #convert(String)}, written straight into <code>out</code>. Reuses the state of the thread:
+     * after the first call on a thread, allocates nothing itself.
+     */
+    @Override
+    public void convert(CharSequence hiragana, int start, int end, Appendable out) throws IOException {
+        transcriptions.acquire().run(hiragana, start, end, out);
+    }
+
+    /**
+     * Streams line by line in constant memory. A trailing "っ", a chunk of 2 chars and a long vowel are carried
+     * over from one read to the next, so the result is that of {@link #convert(String)} on every line.
+     *
+     * A line with a double vowel "uu" or "oo" before its end is held back from there on, because all of them are
+     * contracted if the line ends in the same one. At most {@value Transcription#MAX_TAIL} chars are held back:
+     * after a longer stretch, only the double vowel at the end of the line is contracted.
+     */
+    @Override
+    public void convert(Reader hiragana, Writer latin) throws IOException {
+        StringBuilder converted = new StringBuilder(StreamingConversion.BUFFER_SIZE * 3);
+        Transcription transcription = new Transcription(hiraToRomaji, converted);
+        StreamingConversion.convert(hiragana, latin, transcription::feed, converted);
+    }
+
+    /**
+     * Same as {@link #convert(String)}, written straight into <code>dest</code>.
+     * A Romaji syllable is at most 3 times as long as its Hiragana, so 3 * (end - start) chars are always enough.
+     * Like the Appendable form, allocates nothing itself after the first call on a thread.
+     */
+    @Override
+    public int convert(CharSequence hiragana, int start, int end, char[] dest, int destOffset) {
+        return transcriptions.acquire().run(hiragana, start, end, dest, destOffset);
+    }
+
+
+    /**
+     * If the Romaji is simple, then this returns 1 entry; the same as you get from {@link #convert}.
+     *
+     * If the Romaji contains diacritics (macron), then this variants per macron, and DOES NOT KEEP the
+     * original Romaji.
+     *
+     * All variants are built at once; a name with k "ō" has 3^k of them. See {@link #forEachVariant},
+     * {@link #variantIterator} and {@link #streamVariants} to produce them one at a time, and
+     * {@link #convertToTopVariants} for only the most likely ones.
+     */
+    @Override
+    public List<String> convertToVariants(String input) {
+        return RomajiVariants.of(convert(input)).toList();
+    }
+
+    /**
+     * @return how many entries {@link #convertToVariants(String)} returns for this input, computed without
+     *         generating them. Long.MAX_VALUE if there are more than that.
+     */
+    public long countVariants(String input) {
+        return RomajiVariants.of(convert(input)).count();
+    }
+
+    /**
+     * Same as {@link #convertToVariants(String)}, with a hard limit on how many variants are generated.
+     *
+     * The count is known before any variant is generated, so the policy applies up front, in constant time.
+     *
+     * @param maxVariants at least 1
+     * @param policy what to do when the input has more than <code>maxVariants</code> variants
+     * @throws VariantBudgetExceededException if there are too many variants and the policy is
+     *         {@link VariantBudgetPolicy#FAIL}
+     */
+    public List<String> convertToVariants(String input, int maxVariants, VariantBudgetPolicy policy) {
+        if (maxVariants < 1) {
+            throw new IllegalArgumentException("maxVariants must be at least 1, was: " + maxVariants);
+        }
+        RomajiVariants variants = RomajiVariants.of(convert(input));
+        long count = variants.count();
+        if (count <= maxVariants) {
+            List<String> result = new ArrayList<>((int) count);
+            variants.forEach(variant -> result.add(variant.toString()));
+            return result;
+        }
+        switch (policy) {
+            case TRUNCATE:
+                List<String> result = new ArrayList<>(maxVariants);
+                Iterator<String> iterator = variants.iterator();
+                while (result.size() < maxVariants) {
+                    result.add(iterator.next());
                 }
+                return result;
+            case CANONICAL:
+                return Collections.singletonList(variants.iterator().next());
+            case FAIL:
+                throw new VariantBudgetExceededException(input, count, maxVariants);
+            default:
+                throw new UnsupportedOperationException("Unsupported policy: " + policy);
+        }
+    }
+
+    /**
+     * The variants of {@link #convertToVariants(String)}, the most likely first, each built when requested. Only
+     * the variants taken are built, plus a queue of the next candidates; a name with k "ō" costs about k
+     * candidates per variant taken, instead of all 3^k variants.
+     *
+     * @param weights how likely each spelling is. Variants of the same weight come in a fixed order.
+     */
+    public Iterator<String> rankedVariantIterator(String input, VariantWeights weights) {
+        return RomajiVariants.of(convert(input)).rankedIterator(weights);
+    }
+
+    /**
+     * @return the <code>k</code> most likely variants, the most likely first. Fewer if there are not as many.
+     * @see #rankedVariantIterator(String, VariantWeights)
+     */
+    public List<String> convertToTopVariants(String input, int k, VariantWeights weights) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1, was: " + k);
+        }
+        Iterator<String> ranked = rankedVariantIterator(input, weights);
+        List<String> result = new ArrayList<>(k);
+        while (result.size() < k && ranked.hasNext()) {
+            result.add(ranked.next());
+        }
+        return result;
+    }
+
+    /**
+     * All variants of {@link #convertToVariants(String)} in one compact form, eg <code>sat{o|oh|oo}</code> for
+     * "さとう". Use {@link VariantPattern#matches(CharSequence)} to check if a Romaji spelling is one of them.
+     */
+    public VariantPattern convertToVariantPattern(String input) {
+        return RomajiVariants.of(convert(input)).toPattern();
+    }
+
+    /**
+     * Lazy form of {@link #convertToVariants}: same variants, same order, produced one at a time.
+     *
+     * Every variant is passed in the same reused buffer, without creating a String. The CharSequence is only
+     * valid during the call of <code>action</code>; call toString() to keep it.
+     */
+    public void forEachVariant(String input, Consumer<? super CharSequence> action) {
+        RomajiVariants.of(convert(input)).forEach(action);
+    }
+
+    /**
+     * Lazy form of {@link #convertToVariants}: same variants, same order, each built when requested.
+     */
+    public Iterator<String> variantIterator(String input) {
+        return RomajiVariants.of(convert(input)).iterator();
+    }
+
+    /**
+     * Lazy form of {@link #convertToVariants}: same variants, same order, each built when requested.
+     * Use limit() or a short-circuiting operation to stop early.
+     */
+    public Stream<String> streamVariants(String input) {
+        RomajiVariants variants = RomajiVariants.of(convert(input));
+        long count = variants.count();
+        Spliterator<String> spliterator = count == Long.MAX_VALUE
+                ? Spliterators.spliteratorUnknownSize(variants.iterator(), Spliterator.ORDERED | Spliterator.NONNULL)
+                : Spliterators.spliterator(variants.iterator(), count, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+
+    /**
+     * The state of one conversion in a single pass over the input.
+     *
+     * The last 2 chars of the output are held back in <code>prev</code> and <code>last</code>, because the
+     * long vowel rules may still change them. Everything before is final and already in <code>out</code>.
+     *
+     * A double vowel "uu" or "oo" before the end of the word is contracted only if the word ends in the same one.
+     * When the whole word is at hand, as in {@link #run}, and <code>out</code> is a StringBuilder or a char array,
+     * they are contracted there when the word ends, from the first one on. For any other Appendable, the rest of
+     * the word is converted ahead, without output, the first time it matters; then every double vowel is
+     * contracted as it is written. A word fed in pieces holds back its output from the first double vowel on in
+     * <code>tail</code> instead, at most {@link #MAX_TAIL} chars.
+     *
+     * Not thread safe. The converters keep one per thread for the conversions in memory, see {@link PerThread}.
+     */
+    static final class Transcription {
+
+        private static final int KATAKANA_TO_HIRAGANA = Constants.KATAKANA_START - Constants.HIRAGANA_START;
+
+        /**
+         * How many chars of a word fed in pieces are held back at most. Beyond that they are written out, and
+         * only the double vowel at the end of the word is contracted.
+         */
+        static final int MAX_TAIL = StreamingConversion.BUFFER_SIZE;
+
+        /**
+         * Values of <code>contract</code>, besides 'u' and 'o'.
+         */
+        private static final char UNDECIDED = 0;
+        private static final char NONE = 1;
+
+        private final CharTrie hiraToRomaji;
+        private final boolean foldKatakana;
+        private Appendable out;
+
+        private char prev;
+        private char last;
+        private int held; //how many of prev and last are in use
 
-//                //detect diphthong as last position - NOT NEEDED anymore, I put diphthongs and long vowels in HiraganaToRomajiData
-//                if (chunk.contains("う") & hiragana.indexOf("う") == hiragana.length() - 1) {
-//                    String s = hiraToRomaji.get(String.valueOf(chunk.charAt(0)));
-//                    if (chunk.length() > 1) {
-//                        if (s.length() == 1) {
-//                            s = s.concat(s);
-//                        } else {
-//                            s = s.concat(String.valueOf(s.charAt(1)));
-//                        }
-//                    }
-//                    latinChar = s;
-//                } else
-
-                //detect diphthong that is not at the end of the string.
-                if (chunk.contains("う")
-                        && hiragana.indexOf("う") != 0
-                        && hiragana.indexOf("う") != hiragana.length() - 1
-                        && hiraToRomaji.get(chunk) == null
-                        ) {
-                    if (latin.toString().endsWith("o")) {
-                        latinChar = hiraToRomaji.get(chunk.substring(1, 2));
-                        latin.replace(latin.indexOf("o"), latin.indexOf("o") + 1, "ō");
-                    } else {
-                        latinChar = hiraToRomaji.get(String.valueOf(chunk.charAt(0)));
-                        cursor --; //parse the first char and then move the cursor back by one
+        private boolean nextCharIsDoubleConsonant = false;
+        private boolean started = false; //if the first char of the word was seen
+        private boolean longVowelFromU;
+        private boolean sawU = false; //if the word had a "う" so far
+        /**
+         * The double vowel that is contracted wherever it occurs in this word, the one the word ends in: 'u',
+         * 'o' or NONE. UNDECIDED until the first double vowel before the end of the word.
+         */
+        private char contract = UNDECIDED;
+        /**
+         * Where the output from the first double vowel of the word on starts, in a StringBuilder or char array
+         * <code>out</code>, to contract them in place when the word ends. -1 if none.
+         */
+        private int mark = -1;
+
+        /**
+         * The word, while {@link #run} converts it, for {@link #lookAhead()}.
+         */
+        private CharSequence word;
+        private int wordStart;
+        private int wordEnd;
+        private Transcription lookahead;
+        private boolean running = false;
+        private CharArrayAppendable array;
+
+        /**
+         * The output from the first double vowel of a word fed in pieces on, held back until the word ends.
+         */
+        private StringBuilder tail;
+        private boolean holdingTail = false;
+
+        Transcription(CharTrie hiraToRomaji, Appendable out) {
+            this(hiraToRomaji, out, false);
+        }
+
+        /**
+         * @param foldKatakana to read every Katakana char as its Hiragana, as {@link KatakanaToHiraganaConverter}
+         *                     would convert it
+         */
+        Transcription(CharTrie hiraToRomaji, Appendable out, boolean foldKatakana) {
+            this.hiraToRomaji = hiraToRomaji;
+            this.out = out;
+            this.foldKatakana = foldKatakana;
+        }
+
+        /**
+         * Converts a whole word into <code>out</code>. Allocates nothing, but the {@link #lookahead} the first time
+         * it is needed. Ready for the next word afterwards, also if the conversion throws.
+         */
+        void run(CharSequence hiragana, int start, int end, Appendable out) throws IOException {
+            this.out = out;
+            word = hiragana;
+            wordStart = start;
+            wordEnd = end;
+            running = true;
+            try {
+                feed(hiragana, start, end, true);
+            } finally {
+                //after an exception, finish() did not run
+                reset();
+                running = false;
+                word = null;
+                this.out = null;
+            }
+        }
+
+        /**
+         * Same as {@link #run(CharSequence, int, int, Appendable)}, into <code>dest</code>.
+         *
+         * @return how many chars were written.
+         */
+        int run(CharSequence hiragana, int start, int end, char[] dest, int destOffset) {
+            if (array == null) {
+                array = new CharArrayAppendable();
+            }
+            array.reset(dest, destOffset);
+            try {
+                run(hiragana, start, end, array);
+                return array.length();
+            } catch (IOException e) {
+                throw new AssertionError("CharArrayAppendable does not throw", e);
+            } finally {
+                array.reset(null, 0);
+            }
+        }
+
+        /**
+         * Converts the next chars of the word, for input that comes in pieces.
+         *
+         * @param wordEnds if the word ends at <code>end</code>. If not, the last 2 chars may be left unconverted,
+         *                 because they can form a chunk with the next one.
+         * @return where it stopped: <code>end</code> if the word ends (and then it is finished, and this is ready
+         *         for the next word), otherwise <code>end</code>, <code>end - 1</code> or <code>end - 2</code>.
+         */
+        int feed(CharSequence hiragana, int start, int end, boolean wordEnds) throws IOException {
+            int cursor = convertChars(hiragana, start, end, wordEnds);
+            if (wordEnds) {
+                finish();
+            }
+            return cursor;
+        }
+
+        private int convertChars(CharSequence hiragana, int start, int end, boolean wordEnds) throws IOException {
+            int from; //first char to work with
+            int to; //end of chars to work with, exclusive
+            int chunkSize; //size of chars to work with
+            int cursor = start; //used to iterate through each character
+            int maxChunk = 2; //maximum size of chars to work with
+            //a chunk starting before here may still grow with chars that are not there yet
+            int stop = wordEnds ? end : end - 1;
+            if (!started && start < end) {
+                //as in the original rules, a word starting with "う" gets no long vowel from a later "う"
+                longVowelFromU = charAt(hiragana, start) != 'う';
+                started = true;
+            }
+            String latinChar = null;
+
+            //Iterate through the entire word, 2 hiragana chars at a time, and then 1 at a time
+            while (cursor < stop) {
+                //can be max 2 characters at once; Math.min in case there is 1 character
+                chunkSize = Math.min(maxChunk, end - cursor);
+                while (chunkSize > 0) {
+                    //the chars from cursor position up until the char to work with, trimmed
+                    from = cursor;
+                    to = cursor + chunkSize;
+                    while (from < to && charAt(hiragana, from) <= ' ') {
+                        from++;
                     }
-                } else {
+                    while (to > from && charAt(hiragana, to - 1) <= ' ') {
+                        to--;
+                    }
+
+                    //no magic for Katakana: the user has to convert it first, or use KanaToRomajiConverter,
+                    //which folds it to Hiragana in charAt
+
+                    //detect double consonant
+                    if (chunkSize == 1 && from < to && charAt(hiragana, from) == 'っ' && cursor < (end - 1)) {
+                        nextCharIsDoubleConsonant = true;
+                        latinChar = "";
+                        break;
+                    }
+
                     //get the latin translation for the chunk
-                    latinChar = hiraToRomaji.get(chunk);
+                    latinChar = lookup(hiragana, from, to);
+
+                    //detect diphthong that is not at the end of the string: "う" after an "o", not a syllable with the next char
+                    if (latinChar == null
+                            && longVowelFromU
+                            && to - from == 2
+                            && charAt(hiragana, from) == 'う'
+                            && held > 0 && last == 'o') {
+                        latinChar = lookup(hiragana, from + 1, to);
+                        if (latinChar != null) {
+                            last = 'ō';
+                        }
+                    }
+
+                    //as in the original rules, "っう" that is not a syllable reads the "っ" on its own, unless the
+                    //"う" is the first one of the word and ends it. After an "o", the "っ" is dropped instead: the
+                    //"o" turns into "ō" and the "う" is kept, eg "wōuto"
+                    if (latinChar == null
+                            && longVowelFromU
+                            && to - from == 2
+                            && charAt(hiragana, from) == 'っ'
+                            && charAt(hiragana, from + 1) == 'う') {
+                        if (!sawU && to == end && !wordEnds) {
+                            return cursor; //if the word ends here is only known with the next chars
+                        }
+                        if (sawU || to < end) {
+                            if (held > 0 && last == 'o') {
+                                latinChar = lookup(hiragana, from + 1, to);
+                                last = 'ō';
+                            } else {
+                                latinChar = lookup(hiragana, from, from + 1);
+                                chunkSize = 1;
+                            }
+                        }
+                    }
+
+                    //add the double consonant if detected
+                    if ((latinChar != null) && nextCharIsDoubleConsonant) {
+                        append(latinChar.charAt(0));
+                        nextCharIsDoubleConsonant = false;
+                    }
+
+                    //if chars were translated, preserve chunk size
+                    if (latinChar != null) {
+                        break;
+                    }
+
+                    //if chars were not translated, decrease chunk size
+                    chunkSize--;
+                }
+
+                //if char was not translated at all, add it; it's latin or punctuation
+                if (latinChar == null) {
+                    append(charAt(hiragana, cursor));
+                } else {
+                    for (int i = 0; i < latinChar.length(); i++) {
+                        append(latinChar.charAt(i));
+                    }
+                }
+                if (!sawU) {
+                    sawU = charAt(hiragana, cursor) == 'う'
+                            || (chunkSize == 2 && charAt(hiragana, cursor + 1) == 'う');
+                }
+                //increase cursor position
+                cursor += chunkSize > 0 ? chunkSize : 1;
+            }
+            return cursor;
+        }
+
+        private char charAt(CharSequence kana, int i) {
+            char c = kana.charAt(i);
+            //the Katakana range of Constants, in 1 comparison: below it, the char wraps around to a large one
+            if (foldKatakana && (char) (c - Constants.KATAKANA_START) <= Constants.KATAKANA_END - Constants.KATAKANA_START) {
+                return (char) (c - KATAKANA_TO_HIRAGANA);
+            }
+            return c;
+        }
+
+        private String lookup(CharSequence kana, int from, int to) {
+            if (!foldKatakana) {
+                return hiraToRomaji.get(kana, from, to);
+            }
+            int node = CharTrie.ROOT;
+            for (int i = from; i < to; i++) {
+                node = hiraToRomaji.step(node, charAt(kana, i));
+                if (node == CharTrie.NONE) {
+                    return null;
                 }
+            }
+            return hiraToRomaji.value(node);
+        }
 
-                //add the double consonant if detected
-                if ((latinChar != null) && nextCharIsDoubleConsonant) {
-                    latinChar = latinChar.charAt(0) + latinChar;
-                    nextCharIsDoubleConsonant = false;
+        private void append(char c) throws IOException {
+            if (held == 2) {
+                if (prev == last && (last == 'u' || last == 'o') && !holdingTail) {
+                    if (contract == UNDECIDED) {
+                        decide();
+                    }
+                    if (contract == last) {
+                        //a double vowel of the kind the word ends in
+                        write(last == 'u' ? 'ū' : 'ō');
+                        last = c;
+                        held = 1;
+                        return;
+                    }
                 }
+                write(prev);
+            } else {
+                held++;
+            }
+            prev = last;
+            last = c;
+        }
 
-                //if chars were translated, preserve chunk size
-                if (latinChar != null) {
-                    break;
+        /**
+         * For the first double vowel before the end of the word, which is contracted only if the word ends in the
+         * same one: finds out which one it ends in, or gets ready to contract them when it ends.
+         */
+        private void decide() throws IOException {
+            if (word == null) {
+                if (tail == null) {
+                    tail = new StringBuilder();
                 }
+                holdingTail = true;
+            } else if (out instanceof StringBuilder) {
+                mark = ((StringBuilder) out).length();
+                contract = NONE;
+            } else if (out instanceof CharArrayAppendable) {
+                mark = ((CharArrayAppendable) out).length();
+                contract = NONE;
+            } else {
+                contract = lookAhead();
+            }
+        }
 
-                //if chars were not translated, decrease chunk size
-                chunkSize--;
+        /**
+         * Contracts every double <code>vowel</code> of <code>out</code> from <code>mark</code> on, as
+         * String.replace would.
+         */
+        private void contractFromMark(char vowel) {
+            char contracted = vowel == 'u' ? 'ū' : 'ō';
+            if (out instanceof StringBuilder) {
+                StringBuilder sb = (StringBuilder) out;
+                int to = mark;
+                for (int from = mark; from < sb.length(); to++) {
+                    char c = sb.charAt(from++);
+                    if (c == vowel && from < sb.length() && sb.charAt(from) == vowel) {
+                        c = contracted;
+                        from++;
+                    }
+                    sb.setCharAt(to, c);
+                }
+                sb.setLength(to);
+            } else {
+                ((CharArrayAppendable) out).contract(mark, vowel, contracted);
             }
+        }
 
-            //if char was not translated at all, add it; it's latin or punctuation
-            if (latinChar == null) {
-                latinChar = chunk;
+        /**
+         * @return the double vowel the whole word ends in, 'u', 'o' or NONE. Converts it in {@link #lookahead},
+         *         from the start, with the same rules but without contracting.
+         */
+        private char lookAhead() throws IOException {
+            if (lookahead == null) {
+                lookahead = new Transcription(hiraToRomaji, Discard.INSTANCE, foldKatakana);
             }
+            Transcription ahead = lookahead;
+            ahead.contract = NONE;
+            ahead.convertChars(word, wordStart, wordEnd, true);
+            char ending = ahead.held == 2 && ahead.prev == ahead.last && (ahead.last == 'u' || ahead.last == 'o')
+                    ? ahead.last : NONE;
+            ahead.finish();
+            return ending;
+        }
 
-            latin.append(latinChar);
-            //increase cursor position
-            cursor += chunkSize > 0 ? chunkSize : 1;
+        private void write(char c) throws IOException {
+            if (holdingTail) {
+                if (tail.length() == MAX_TAIL) {
+                    //too long to wait for the end of the word: only its last double vowel gets contracted
+                    out.append(tail);
+                    tail.setLength(0);
+                    holdingTail = false;
+                    contract = NONE;
+                    out.append(c);
+                } else {
+                    tail.append(c);
+                }
+            } else {
+                out.append(c);
+            }
         }
 
-        String result = latin.toString();
-        if (result.endsWith("uu")) {
-            result = result.replace("uu", "ū");
-        } else if (result.endsWith("oo")) {
-            result = result.replace("oo", "ō");
+        /**
+         * Contracts the long vowel at the end of the word, and writes out the held back chars. As in the original
+         * rules, a word ending in "uu" gets all its "uu" contracted to "ū", else a word ending in "oo" all its "oo"
+         * to "ō". Then resets for the next word.
+         */
+        private void finish() throws IOException {
+            if (holdingTail) {
+                if (held == 2) {
+                    tail.append(prev);
+                }
+                if (held > 0) {
+                    tail.append(last);
+                }
+                String word = tail.toString();
+                if (word.endsWith("uu")) {
+                    word = word.replace("uu", "ū");
+                } else if (word.endsWith("oo")) {
+                    word = word.replace("oo", "ō");
+                }
+                out.append(word);
+                tail.setLength(0);
+                holdingTail = false;
+            } else if (held == 2 && prev == last && (last == 'u' || last == 'o')) {
+                //the double vowel the word ends in
+                if (mark >= 0) {
+                    out.append(prev).append(last);
+                    contractFromMark(last);
+                } else {
+                    out.append(last == 'u' ? 'ū' : 'ō');
+                }
+            } else {
+                if (held == 2) {
+                    out.append(prev);
+                }
+                if (held > 0) {
+                    out.append(last);
+                }
+            }
+            reset();
         }
 
-        return result;
-        //can manually capitalize if you want to. is simple, almost 1 line only.
-//        return WordUtils.capitalizeFully(result);
+        /**
+         * Drops the state of the word, written out or not, for the next one.
+         */
+        private void reset() {
+            prev = 0;
+            last = 0;
+            held = 0;
+            mark = -1;
+            nextCharIsDoubleConsonant = false;
+            started = false;
+            sawU = false;
+            contract = UNDECIDED;
+            if (holdingTail) {
+                tail.setLength(0);
+                holdingTail = false;
+            }
+            if (lookahead != null) {
+                lookahead.reset();
+            }
+        }
     }
 
     /**
-     * If the Romaji is simple, then this returns 1 entry; the same as you get from {@link #convert}.
-     *
-     * If the Romaji contains diacritics (macron), then this variants per macron, and DOES NOT KEEP the
-     * original Romaji.
+     * The {@link Transcription} of the current thread, for the conversions in memory, so that they allocate
+     * nothing but their result. A new one if it is already in use further up the stack, eg by an Appendable that
+     * converts too.
      */
-    @Override
-    public List<String> convertToVariants(String input) {
-        String romaji = convert(input);
+    static final class PerThread extends ThreadLocal<Transcription> {
 
-        RuleOfProductComboBuilder<String> builder = new RuleOfProductComboBuilder<>();
+        private final CharTrie hiraToRomaji;
+        private final boolean foldKatakana;
 
-        for (char c : romaji.toCharArray()) {
-            builder.newGroup().variants(variantsForChar(c));
+        PerThread(CharTrie hiraToRomaji, boolean foldKatakana) {
+            this.hiraToRomaji = hiraToRomaji;
+            this.foldKatakana = foldKatakana;
         }
 
-        List<List<String>> list = builder.build();
+        @Override
+        protected Transcription initialValue() {
+            return new Transcription(hiraToRomaji, null, foldKatakana);
+        }
 
-        List<String> result = new ArrayList<>(list.size());
-        for (List<String> oneTranscription : list) {
-            result.add(String.join("", oneTranscription));
+        Transcription acquire() {
+            Transcription transcription = get();
+            return transcription.running ? initialValue() : transcription;
         }
-        return result;
     }
 
+    /**
+     * The output of {@link Transcription#lookAhead()}, which is not used.
+     */
+    private static final class Discard implements Appendable {
 
-    private Iterable<String> variantsForChar(char c) {
-        switch (c) {
-            case 'ō':
-                return Arrays.asList("o", "oh", "oo");
-            case 'ū':
-                return Collections.singletonList("u");
-            case 'ē':
-                return Collections.singletonList("ee");
-            default:
-                return Collections.singletonList("" + c);
+        static final Discard INSTANCE = new Discard();
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return this;
         }
     }
 
-}
\ No newline at end of file
+}
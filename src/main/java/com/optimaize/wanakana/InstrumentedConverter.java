@@ -0,0 +1,112 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wraps a {@link Converter} and records its calls in {@link ConverterMetrics}: calls, characters, latency,
+ * characters that pass through unconverted, and the number of variants.
+ *
+ * <p>When the metrics are disabled (also at runtime over JMX), every method delegates straight away, at the cost
+ * of reading 1 volatile field. Thread safe if the wrapped converter is.</p>
+ *
+ * <pre>
+ * InstrumentedConverter converter = new InstrumentedConverter(HiraganaToRomajiConverter.getInstance(), Script.HIRAGANA);
+ * converter.getMetrics().register("hiraganaToRomaji");
+ * </pre>
+ */
+public final class InstrumentedConverter implements Converter {
+
+    private final Converter delegate;
+    private final Set<Script> sourceScripts;
+    private final ConverterMetrics metrics = new ConverterMetrics();
+
+    /**
+     * @param sourceScripts the scripts the converter converts, eg {@link Script#HIRAGANA} for
+     *                      {@link HiraganaToRomajiConverter}. Input characters in other scripts are counted as
+     *                      pass through.
+     */
+    public InstrumentedConverter(Converter delegate, Script sourceScript, Script... moreSourceScripts) {
+        this.delegate = delegate;
+        this.sourceScripts = Collections.unmodifiableSet(EnumSet.of(sourceScript, moreSourceScripts));
+    }
+
+    public ConverterMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Set<Script> getSourceScripts() {
+        return sourceScripts;
+    }
+
+    @Override
+    public String convert(String input) {
+        if (!metrics.isEnabled()) {
+            return delegate.convert(input);
+        }
+        long start = System.nanoTime();
+        String result = delegate.convert(input);
+        record(input, 0, input.length(), start);
+        return result;
+    }
+
+    @Override
+    public void convert(CharSequence input, int start, int end, Appendable out) throws IOException {
+        if (!metrics.isEnabled()) {
+            delegate.convert(input, start, end, out);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        delegate.convert(input, start, end, out);
+        record(input, start, end, startNanos);
+    }
+
+    @Override
+    public int convert(CharSequence input, int start, int end, char[] dest, int destOffset) {
+        if (!metrics.isEnabled()) {
+            return delegate.convert(input, start, end, dest, destOffset);
+        }
+        long startNanos = System.nanoTime();
+        int written = delegate.convert(input, start, end, dest, destOffset);
+        record(input, start, end, startNanos);
+        return written;
+    }
+
+    /**
+     * Not recorded: it would have to count the characters on the way. Streams straight through the wrapped
+     * converter.
+     */
+    @Override
+    public void convert(Reader in, Writer out) throws IOException {
+        delegate.convert(in, out);
+    }
+
+    @Override
+    public List<String> convertToVariants(String input) {
+        if (!metrics.isEnabled()) {
+            return delegate.convertToVariants(input);
+        }
+        long start = System.nanoTime();
+        List<String> variants = delegate.convertToVariants(input);
+        record(input, 0, input.length(), start);
+        metrics.recordVariants(variants.size());
+        return variants;
+    }
+
+    private void record(CharSequence input, int start, int end, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        int passThrough = 0;
+        for (int i = start; i < end; i++) {
+            if (!sourceScripts.contains(ScriptTable.of(input.charAt(i)))) {
+                passThrough++;
+            }
+        }
+        metrics.recordCall(end - start, passThrough, nanos);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.optimaize.wanakana;
+
+/**
+ * The kinds of chars in the original WanaKana library, with its ranges: Hiragana is 3041-3096 and Katakana is
+ * 30A1-30FA. Used by {@link WanaKana} and {@link WanaKanaJava} to classify and convert in one pass.
+ *
+ * <p>Apart from {@link WanaKanaData}, so that WanaKana does not build the maps of the legacy class.</p>
+ */
+final class KanaKinds {
+
+    /**
+     * The kinds of chars, as bit flags so that the kinds of a string can be ORed together.
+     */
+    static final int HIRAGANA = 1;
+    static final int KATAKANA = 2;
+    static final int OTHER = 4;
+
+    /**
+     * The kind of every char from U+3000 to U+30FF, the block with all kana. All others are {@link #OTHER}.
+     */
+    private static final byte[] KINDS = prepareKinds();
+
+    private KanaKinds() {
+    }
+
+    static int kindOf(char c) {
+        return c >>> 8 == 0x30 ? KINDS[c & 0xFF] : OTHER;
+    }
+
+    /**
+     * @param kinds the allowed kinds, ORed
+     * @return true if every char is of one of the kinds, also for the empty string.
+     */
+    static boolean consistsOf(String s, int kinds) {
+        for (int i = 0; i < s.length(); i++) {
+            if ((kindOf(s.charAt(i)) & ~kinds) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The kana part of toHiragana and toKatakana: one pass to classify, stopping at the first char that makes the
+     * input mixed, then a shift of all chars without branches.
+     *
+     * @param kana the kind that is shifted, {@link #HIRAGANA} or {@link #KATAKANA}.
+     * @return <code>input</code> shifted by <code>offset</code> if every char is <code>kana</code>; null if no
+     *         char is kana, that is Romaji for the caller to convert; else <code>input</code> itself.
+     */
+    static String shiftAll(String input, int kana, int offset) {
+        int kinds = 0;
+        for (int i = 0; i < input.length(); i++) {
+            kinds |= kindOf(input.charAt(i));
+            if (kinds != kana && kinds != OTHER) {
+                return input;
+            }
+        }
+        if (kinds != kana) {
+            return null;
+        }
+        char[] shifted = new char[input.length()];
+        input.getChars(0, shifted.length, shifted, 0);
+        for (int i = 0; i < shifted.length; i++) {
+            shifted[i] += offset;
+        }
+        return new String(shifted);
+    }
+
+    private static byte[] prepareKinds() {
+        byte[] kinds = new byte[0x100];
+        for (int i = 0; i < kinds.length; i++) {
+            int c = 0x3000 + i;
+            kinds[i] = (byte) (0x3041 <= c && c <= 0x3096 ? HIRAGANA : 0x30A1 <= c && c <= 0x30FA ? KATAKANA : OTHER);
+        }
+        return kinds;
+    }
+
+}
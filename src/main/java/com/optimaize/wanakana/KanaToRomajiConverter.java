@@ -0,0 +1,84 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Converts Hiragana, Katakana or a mix of both to Romaji, in a single pass.
+ *
+ * <p>The result is exactly that of {@link KatakanaToHiraganaConverter} followed by {@link HiraganaToRomajiConverter},
+ * with the same rules for names, but without the intermediate Hiragana string: every Katakana char is read as its
+ * Hiragana while matching.</p>
+ */
+public class KanaToRomajiConverter implements Converter {
+
+    private final CharTrie hiraToRomaji;
+    private final HiraganaToRomajiConverter.PerThread transcriptions;
+
+    private KanaToRomajiConverter() {
+        this.hiraToRomaji = GeneratedTables.hiraganaToRomaji();
+        this.transcriptions = new HiraganaToRomajiConverter.PerThread(hiraToRomaji, true);
+    }
+
+    private static class ConverterLazyHolder {
+        static final KanaToRomajiConverter INSTANCE = new KanaToRomajiConverter();
+    }
+
+    public static KanaToRomajiConverter getInstance() {
+        return ConverterLazyHolder.INSTANCE;
+    }
+
+    /**
+     * @see HiraganaToRomajiConverter#convert(String)
+     */
+    @Override
+    public String convert(String kana) {
+        StringBuilder latin = new StringBuilder(kana.length() * 2);
+        try {
+            transcriptions.acquire().run(kana, 0, kana.length(), latin);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return latin.toString();
+    }
+
+    /**
+     * Allocates nothing itself after the first call on a thread, see
+     * {@link HiraganaToRomajiConverter#convert(CharSequence, int, int, Appendable)}.
+     */
+    @Override
+    public void convert(CharSequence kana, int start, int end, Appendable out) throws IOException {
+        transcriptions.acquire().run(kana, start, end, out);
+    }
+
+    /**
+     * Streams line by line in constant memory, see {@link HiraganaToRomajiConverter#convert(Reader, Writer)}.
+     */
+    @Override
+    public void convert(Reader kana, Writer latin) throws IOException {
+        StringBuilder converted = new StringBuilder(StreamingConversion.BUFFER_SIZE * 3);
+        HiraganaToRomajiConverter.Transcription transcription =
+                new HiraganaToRomajiConverter.Transcription(hiraToRomaji, converted, true);
+        StreamingConversion.convert(kana, latin, transcription::feed, converted);
+    }
+
+    /**
+     * 3 * (end - start) chars in <code>dest</code> are always enough. Allocates nothing itself after the first
+     * call on a thread.
+     */
+    @Override
+    public int convert(CharSequence kana, int start, int end, char[] dest, int destOffset) {
+        return transcriptions.acquire().run(kana, start, end, dest, destOffset);
+    }
+
+    /**
+     * @see HiraganaToRomajiConverter#convertToVariants(String)
+     */
+    @Override
+    public List<String> convertToVariants(String kana) {
+        return RomajiVariants.of(convert(kana)).toList();
+    }
+
+}
@@ -1,11 +1,18 @@
 package com.optimaize.wanakana;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
 /**
  * Converts Katakana syllables to Hiragana.
  * The conversion is 1:1.
  */
 public class KatakanaToHiraganaConverter implements Converter {
 
+    private static final int KATAKANA_TO_HIRAGANA = Constants.HIRAGANA_START - Constants.KATAKANA_START;
+
     private KatakanaToHiraganaConverter() {
     }
 
@@ -17,26 +24,91 @@ public class KatakanaToHiraganaConverter implements Converter {
 
 
     /**
-     * Coverts Katakana script to Hiragana script
+     * Converts Katakana script to Hiragana script
+     *
+     * @return the input itself if it has no Katakana.
      */
     @Override
     public String convert(String kata) {
-        int unicode;
-        StringBuilder hiragana = new StringBuilder();
-
-        for (int i = 0; i < kata.length(); i++) {
-            char katakanaChar = kata.charAt(i);
-
-            if (Scriber.getInstance().isCharKatakana(katakanaChar)) {
-                unicode = katakanaChar;
-                unicode += Constants.HIRAGANA_START - Constants.KATAKANA_START;
-                hiragana.append(String.valueOf(Character.toChars(unicode)));
-            } else {
-                hiragana.append(katakanaChar);
+        char[] converted = new char[kata.length()];
+        kata.getChars(0, kata.length(), converted, 0);
+        return convertInPlace(converted, 0, converted.length) ? new String(converted) : kata;
+    }
+
+    /**
+     * Converts the chars from <code>start</code> to <code>end</code> where they are, without a copy.
+     *
+     * @return if any char was changed; false if there was no Katakana.
+     */
+    public boolean convertInPlace(char[] chars, int start, int end) {
+        if (start < 0 || start > end || end > chars.length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + chars.length);
+        }
+        return CharKernels.shift(chars, start, end,
+                (char) Constants.KATAKANA_START, (char) Constants.KATAKANA_END, KATAKANA_TO_HIRAGANA);
+    }
+
+    /**
+     * Converts the remaining chars of the buffer where they are, without a copy. The position and limit stay
+     * the same.
+     *
+     * @return if any char was changed; false if there was no Katakana.
+     * @throws java.nio.ReadOnlyBufferException if there is something to convert and the buffer is read only.
+     */
+    public boolean convertInPlace(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            return CharKernels.shift(chars.array(), start, start + chars.remaining(),
+                    (char) Constants.KATAKANA_START, (char) Constants.KATAKANA_END, KATAKANA_TO_HIRAGANA);
+        }
+        boolean changed = false;
+        for (int i = chars.position(); i < chars.limit(); i++) {
+            char c = chars.get(i);
+            char converted = convertChar(c);
+            if (converted != c) {
+                chars.put(i, converted);
+                changed = true;
             }
         }
+        return changed;
+    }
+
+    @Override
+    public void convert(CharSequence kata, int start, int end, Appendable out) throws IOException {
+        for (int i = start; i < end; i++) {
+            out.append(convertChar(kata.charAt(i)));
+        }
+    }
+
+    /**
+     * Streams in constant memory.
+     */
+    @Override
+    public void convert(Reader katakana, Writer hiragana) throws IOException {
+        StringBuilder converted = new StringBuilder(StreamingConversion.BUFFER_SIZE);
+        StreamingConversion.convert(katakana, hiragana, (chars, start, end, lineEnds) -> {
+            convert(chars, start, end, converted);
+            return end;
+        }, converted);
+    }
 
-        return hiragana.toString();
+    /**
+     * The conversion is 1:1, so <code>dest</code> needs room for <code>end - start</code> chars.
+     * Converts many chars per step, see {@link CharKernels}.
+     */
+    @Override
+    public int convert(CharSequence kata, int start, int end, char[] dest, int destOffset) {
+        CharKernels.copy(kata, start, end, dest, destOffset);
+        CharKernels.shift(dest, destOffset, destOffset + end - start,
+                (char) Constants.KATAKANA_START, (char) Constants.KATAKANA_END, KATAKANA_TO_HIRAGANA);
+        return end - start;
+    }
+
+    private char convertChar(char c) {
+        if (ScriptTable.of(c) == Script.KATAKANA) {
+            return (char) (c + KATAKANA_TO_HIRAGANA);
+        }
+        return c;
     }
 
 }
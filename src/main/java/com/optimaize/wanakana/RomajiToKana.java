@@ -0,0 +1,198 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+
+/**
+ * The Romaji to kana rules of the original WanaKana library, shared by {@link WanaKana},
+ * {@link RomajiToHiraganaConverter} and {@link RomajiToKatakanaConverter}.
+ *
+ * <p>Matches the longest Romaji chunk of up to 3 chars (4 for "ltsu" and "xtsu") in a compiled trie, lowercasing
+ * the input chars while walking it, and appends the kana straight to the output. Immutable and thread safe.</p>
+ *
+ * <p>The rules:</p>
+ * <ul>
+ *     <li>"n" followed by a consonant (not "y") and a vowel is "ん", eg "kanto" is "かんと".</li>
+ *     <li>A doubled consonant other than "n" is a small "っ", eg "kitte" is "きって".</li>
+ *     <li>With obsolete kana, "wi" and "we" are "ゐ" and "ゑ".</li>
+ *     <li>In IME mode "n'" is "ん", and an "n" before a final "y" is kept.</li>
+ *     <li>The ideographic space is a space and "-" is "ー". Other chars without a mapping are kept.</li>
+ * </ul>
+ */
+final class RomajiToKana {
+
+    /**
+     * Which kana to write.
+     */
+    enum Output {
+        HIRAGANA,
+        KATAKANA,
+        /**
+         * Katakana for chunks starting with an uppercase letter, Hiragana otherwise.
+         */
+        BY_CASE
+    }
+
+    private static final CharTrie TRIE = GeneratedTables.romajiToKana();
+    private static final String N = "ん";
+
+    //the Hiragana range of the original library, see WanaKana
+    private static final char HIRAGANA_START = 0x3041;
+    private static final char HIRAGANA_END = 0x3096;
+    private static final int HIRAGANA_TO_KATAKANA = 0x30A1 - HIRAGANA_START;
+
+    private final boolean useObsoleteKana;
+    private final boolean imeMode;
+
+    RomajiToKana(boolean useObsoleteKana, boolean imeMode) {
+        this.useObsoleteKana = useObsoleteKana;
+        this.imeMode = imeMode;
+    }
+
+    /**
+     * Appends the kana for <code>roma</code> from <code>start</code> to <code>end</code>. Never more chars than
+     * it reads.
+     */
+    void convert(CharSequence roma, int start, int end, Appendable out, Output output) throws IOException {
+        convert(roma, start, end, true, out, output);
+    }
+
+    /**
+     * For input that comes in pieces: converts the next chars of a line.
+     *
+     * @param lineEnds if the line ends at <code>end</code>. If not, up to 3 chars are left unconverted, because
+     *                 they can form a chunk with the next ones.
+     * @return where it stopped, <code>end</code> if the line ends.
+     */
+    int convert(CharSequence roma, int start, int end, boolean lineEnds, Appendable out, Output output)
+            throws IOException {
+        //a chunk starting before here can see all chars it may need, up to 4
+        int stop = lineEnds ? end : end - 3;
+        int position = start;
+        while (position < stop) {
+            int chunkSize = Math.min(3, end - position);
+            boolean extended = false;
+            String kanaChar = null;
+            //the first char of the chunk, and the lowercase one, after the n and double consonant rules
+            char first = roma.charAt(position);
+            char firstLC = Character.toLowerCase(first);
+            while (chunkSize > 0) {
+                if (!extended && chunkSize == 3 && end - position >= 4 && isLtsOrXts(roma, position)) {
+                    //only once, the original library loops forever if "ltsu" does not match
+                    extended = true;
+                    chunkSize++;
+                }
+                if (firstLC == 'n') {
+                    //convert n' to ん
+                    if (imeMode && chunkSize == 2 && roma.charAt(position + 1) == '\'') {
+                        kanaChar = N;
+                        first = 'n';
+                        break;
+                    }
+                    //"nto" is "んと", the "n" is "ん" first. "y" is no consonant here for にゃ, にゅ and にょ.
+                    if (chunkSize > 2 && isConsonant(lower(roma, position + 1), false)
+                            && isVowel(lower(roma, position + 2), true)) {
+                        chunkSize = 1;
+                        kanaChar = N;
+                        first = 'n';
+                        break;
+                    }
+                } else if (chunkSize > 1 && isConsonant(firstLC, true) && first == roma.charAt(position + 1)) {
+                    //a small つ for double consonants, Katakana when typed in uppercase
+                    chunkSize = 0;
+                    first = firstLC = isUppercase(first) ? 'ッ' : 'っ';
+                    break;
+                }
+                kanaChar = lookup(roma, position, position + chunkSize);
+                if (kanaChar != null) {
+                    break;
+                }
+                chunkSize--;
+            }
+
+            if (kanaChar == null) {
+                kanaChar = convertPunctuation(first);
+            } else if (useObsoleteKana && chunkSize == 2 && firstLC == 'w') {
+                char second = lower(roma, position + 1);
+                if (second == 'i') {
+                    kanaChar = "ゐ";
+                } else if (second == 'e') {
+                    kanaChar = "ゑ";
+                }
+            }
+            if (imeMode && firstLC == 'n' && position == end - 2 && lower(roma, position + 1) == 'y') {
+                kanaChar = String.valueOf(first);
+            }
+            if (output == Output.KATAKANA || (output == Output.BY_CASE && isUppercase(first))) {
+                appendKatakana(kanaChar, out);
+            } else {
+                out.append(kanaChar);
+            }
+            position += chunkSize > 0 ? chunkSize : 1;
+        }
+        return position;
+    }
+
+    private static String lookup(CharSequence roma, int start, int end) {
+        int node = CharTrie.ROOT;
+        for (int i = start; i < end; i++) {
+            node = TRIE.step(node, Character.toLowerCase(roma.charAt(i)));
+            if (node == CharTrie.NONE) {
+                return null;
+            }
+        }
+        return TRIE.value(node);
+    }
+
+    private static boolean isLtsOrXts(CharSequence roma, int position) {
+        char c = lower(roma, position);
+        return (c == 'l' || c == 'x') && lower(roma, position + 1) == 't' && lower(roma, position + 2) == 's';
+    }
+
+    private static void appendKatakana(String kana, Appendable out) throws IOException {
+        for (int i = 0; i < kana.length(); i++) {
+            char c = kana.charAt(i);
+            out.append(HIRAGANA_START <= c && c <= HIRAGANA_END ? (char) (c + HIRAGANA_TO_KATAKANA) : c);
+        }
+    }
+
+    private static String convertPunctuation(char c) {
+        if (c == '　') {
+            return " ";
+        }
+        if (c == '-') {
+            return "ー";
+        }
+        return String.valueOf(c);
+    }
+
+    private static char lower(CharSequence s, int i) {
+        return Character.toLowerCase(s.charAt(i));
+    }
+
+    private static boolean isUppercase(char c) {
+        return 'A' <= c && c <= 'Z';
+    }
+
+    private static boolean isVowel(char c, boolean includeY) {
+        switch (c) {
+            case 'a':
+            case 'e':
+            case 'i':
+            case 'o':
+            case 'u':
+                return true;
+            case 'y':
+                return includeY;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isConsonant(char c, boolean includeY) {
+        if (c == 'y') {
+            return includeY;
+        }
+        return 'a' <= c && c <= 'z' && !isVowel(c, false);
+    }
+
+}
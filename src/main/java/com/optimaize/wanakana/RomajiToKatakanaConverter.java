@@ -0,0 +1,79 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Converts Romaji to Katakana, with the rules of the original WanaKana library. Case is ignored.
+ *
+ * <p>"n" before a consonant and a vowel is "ン", eg "kanto" is "カント", a doubled consonant is a small "ッ", the
+ * ideographic space is a space and "-" is "ー".
+ * Characters without a mapping, including kana, are kept.</p>
+ *
+ * <p>Matches in a compiled trie and writes straight into the output, linear in the input length.</p>
+ */
+public class RomajiToKatakanaConverter implements Converter {
+
+    private static final RomajiToKatakanaConverter INSTANCE = new RomajiToKatakanaConverter(false);
+    private static final RomajiToKatakanaConverter OBSOLETE_KANA_INSTANCE = new RomajiToKatakanaConverter(true);
+
+    private final RomajiToKana romajiToKana;
+
+    private RomajiToKatakanaConverter(boolean useObsoleteKana) {
+        this.romajiToKana = new RomajiToKana(useObsoleteKana, false);
+    }
+
+    public static RomajiToKatakanaConverter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param useObsoleteKana to convert "wi" and "we" to "ゐ" and "ゑ" (in Katakana).
+     */
+    public static RomajiToKatakanaConverter getInstance(boolean useObsoleteKana) {
+        return useObsoleteKana ? OBSOLETE_KANA_INSTANCE : INSTANCE;
+    }
+
+    @Override
+    public String convert(String romaji) {
+        StringBuilder kana = new StringBuilder(romaji.length());
+        try {
+            convert(romaji, 0, romaji.length(), kana);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return kana.toString();
+    }
+
+    @Override
+    public void convert(CharSequence romaji, int start, int end, Appendable out) throws IOException {
+        romajiToKana.convert(romaji, start, end, out, RomajiToKana.Output.KATAKANA);
+    }
+
+    /**
+     * Streams line by line in constant memory.
+     */
+    @Override
+    public void convert(Reader romaji, Writer katakana) throws IOException {
+        StringBuilder converted = new StringBuilder(StreamingConversion.BUFFER_SIZE);
+        StreamingConversion.convert(romaji, katakana, (chars, start, end, lineEnds) ->
+                romajiToKana.convert(chars, start, end, lineEnds, converted, RomajiToKana.Output.KATAKANA), converted);
+    }
+
+    /**
+     * Same as {@link #convert(String)}, written straight into <code>dest</code>.
+     * The kana is never longer than the Romaji, so <code>end - start</code> chars are always enough.
+     */
+    @Override
+    public int convert(CharSequence romaji, int start, int end, char[] dest, int destOffset) {
+        CharArrayAppendable out = new CharArrayAppendable(dest, destOffset);
+        try {
+            convert(romaji, start, end, out);
+        } catch (IOException e) {
+            throw new AssertionError("CharArrayAppendable does not throw", e);
+        }
+        return out.length();
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.optimaize.wanakana;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * All the passport variants of one Romaji string, without expanding them.
+ *
+ * The Romaji is split into fixed text and choice points: <code>literals[0] choices[0] literals[1] choices[1] ...
+ * literals[k]</code>. A variant takes 1 option of each choice point. Variants are produced in the same order as
+ * {@link crema.math.algo.combinatorics.RuleOfProductComboBuilder#build()} does: the first choice point changes
+ * fastest.
+ */
+final class RomajiVariants {
+
+    private static final String[] LONG_O = {"o", "oh", "oo"};
+
+    /**
+     * Initial capacity of the list from {@link #toList()}. Most names have few variants; a list for many more
+     * grows as they are added, instead of being allocated for all of them before the first one exists.
+     */
+    private static final int INITIAL_LIST_CAPACITY = 16;
+
+    private final String[] literals;
+    private final String[][] choices;
+
+    private RomajiVariants(String[] literals, String[][] choices) {
+        this.literals = literals;
+        this.choices = choices;
+    }
+
+    /**
+     * @param romaji as returned by {@link HiraganaToRomajiConverter#convert(String)}
+     */
+    static RomajiVariants of(String romaji) {
+        List<String> literals = new ArrayList<>();
+        List<String[]> choices = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(romaji.length());
+        for (int i = 0; i < romaji.length(); i++) {
+            char c = romaji.charAt(i);
+            switch (c) {
+                case 'ō':
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    choices.add(LONG_O);
+                    break;
+                case 'ū':
+                    literal.append('u');
+                    break;
+                case 'ē':
+                    literal.append("ee");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        literals.add(literal.toString());
+        return new RomajiVariants(literals.toArray(new String[0]), choices.toArray(new String[0][]));
+    }
+
+    /**
+     * @return how many variants there are, or Long.MAX_VALUE if that does not fit into a long.
+     */
+    long count() {
+        long total = 1;
+        for (String[] choice : choices) {
+            if (total > Long.MAX_VALUE / choice.length) {
+                return Long.MAX_VALUE;
+            }
+            total *= choice.length;
+        }
+        return total;
+    }
+
+    /**
+     * Passes every variant to <code>action</code>, all in the same reused buffer.
+     * The CharSequence is only valid during the call; use toString() to keep it.
+     */
+    void forEach(Consumer<? super CharSequence> action) {
+        StringBuilder buffer = new StringBuilder(maxLength());
+        int[] digits = new int[choices.length];
+        do {
+            render(digits, buffer);
+            action.accept(buffer);
+        } while (increment(digits));
+    }
+
+    /**
+     * @return all variants, in {@link #forEach} order
+     */
+    List<String> toList() {
+        List<String> result = new ArrayList<>((int) Math.min(count(), INITIAL_LIST_CAPACITY));
+        forEach(variant -> result.add(variant.toString()));
+        return result;
+    }
+
+    VariantPattern toPattern() {
+        return new VariantPattern(literals, choices);
+    }
+
+    Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private final StringBuilder buffer = new StringBuilder(maxLength());
+            private final int[] digits = new int[choices.length];
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                render(digits, buffer);
+                hasNext = increment(digits);
+                return buffer.toString();
+            }
+        };
+    }
+
+    /**
+     * The variants from the heaviest to the lightest, each built when requested, best-first: a priority queue
+     * holds the next candidates, so the first ones come without looking at the rest.
+     *
+     * <p>The options of every choice point are ranked by weight. A candidate is a rank per choice point; its
+     * successors raise one rank by 1, at the position of the last raise or after it, so that every candidate is
+     * queued exactly once, and after its predecessor, which weighs at least as much. Ties are broken by the ranks,
+     * so with {@link VariantWeights#UNIFORM} the order is the usual one.</p>
+     */
+    Iterator<String> rankedIterator(VariantWeights weights) {
+        String[][] ranked = new String[choices.length][];
+        double[][] rankedWeights = new double[choices.length][];
+        for (int i = 0; i < choices.length; i++) {
+            String[] options = choices[i].clone();
+            //stable, so options of the same weight keep their order
+            Arrays.sort(options, (a, b) -> Double.compare(weights.weight(b), weights.weight(a)));
+            ranked[i] = options;
+            rankedWeights[i] = new double[options.length];
+            for (int j = 0; j < options.length; j++) {
+                rankedWeights[i][j] = weights.weight(options[j]);
+            }
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(new int[choices.length], 0, rankedWeights));
+        return new Iterator<String>() {
+            private final StringBuilder buffer = new StringBuilder(maxLength());
+
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                Candidate best = queue.poll();
+                if (best == null) {
+                    throw new NoSuchElementException();
+                }
+                for (int i = best.lastRaised; i < ranked.length; i++) {
+                    if (best.ranks[i] + 1 < ranked[i].length) {
+                        int[] ranks = best.ranks.clone();
+                        ranks[i]++;
+                        queue.add(new Candidate(ranks, i, rankedWeights));
+                    }
+                }
+                buffer.setLength(0);
+                for (int i = 0; i < ranked.length; i++) {
+                    buffer.append(literals[i]).append(ranked[i][best.ranks[i]]);
+                }
+                return buffer.append(literals[ranked.length]).toString();
+            }
+        };
+    }
+
+    /**
+     * A variant for {@link #rankedIterator}, by the rank of its option at every choice point.
+     * Orders the heaviest first, then by ranks with the last choice point the most significant.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final int[] ranks;
+        final int lastRaised;
+        final double weight;
+
+        Candidate(int[] ranks, int lastRaised, double[][] rankedWeights) {
+            this.ranks = ranks;
+            this.lastRaised = lastRaised;
+            //multiplied in ascending order, so that variants with the same weights weigh exactly the same
+            double[] factors = new double[ranks.length];
+            for (int i = 0; i < ranks.length; i++) {
+                factors[i] = rankedWeights[i][ranks[i]];
+            }
+            Arrays.sort(factors);
+            double product = 1;
+            for (double factor : factors) {
+                product *= factor;
+            }
+            this.weight = product;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byWeight = Double.compare(other.weight, weight);
+            if (byWeight != 0) {
+                return byWeight;
+            }
+            for (int i = ranks.length - 1; i >= 0; i--) {
+                if (ranks[i] != other.ranks[i]) {
+                    return Integer.compare(ranks[i], other.ranks[i]);
+                }
+            }
+            return 0;
+        }
+    }
+
+    private void render(int[] digits, StringBuilder buffer) {
+        buffer.setLength(0);
+        for (int i = 0; i < choices.length; i++) {
+            buffer.append(literals[i]).append(choices[i][digits[i]]);
+        }
+        buffer.append(literals[choices.length]);
+    }
+
+    /**
+     * Odometer step, the first choice point is the fastest digit.
+     *
+     * @return false when it wrapped around, meaning all variants were produced.
+     */
+    private boolean increment(int[] digits) {
+        for (int i = 0; i < digits.length; i++) {
+            if (++digits[i] < choices[i].length) {
+                return true;
+            }
+            digits[i] = 0;
+        }
+        return false;
+    }
+
+    private int maxLength() {
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        for (String[] choice : choices) {
+            int longest = 0;
+            for (String option : choice) {
+                longest = Math.max(longest, option.length());
+            }
+            length += longest;
+        }
+        return length;
+    }
+
+}
@@ -15,6 +15,19 @@ import java.util.regex.Pattern;
  */
 public class Scriber {
 
+    /**
+     * Receives the runs found by {@link #segment(CharSequence, RunHandler)}.
+     */
+    public interface RunHandler {
+
+        /**
+         * @param start  index of the first char of the run
+         * @param length in chars, at least 1
+         */
+        void run(int start, int length, Script script);
+
+    }
+
     private Scriber() {
     }
 
@@ -59,98 +72,188 @@ public class Scriber {
     }
 
     /**
-     * Checks if a character is from the Katakana script.
+     * Classifies a character with a single table lookup, so that several questions can be answered at once.
+     *
+     * @return never null, {@link Script#OTHER} for everything that is not one of the others.
      */
-    public boolean isCharKatakana(char chr) {
-        return isCharInRange(chr, Constants.KATAKANA_START, Constants.KATAKANA_END);
+    public Script classify(char chr) {
+        return ScriptTable.of(chr);
     }
 
     /**
-     * Checks if a character is from the Hiragana script.
+     * Like {@link #classify(char)}, for any code point, eg Kanji outside the Basic Multilingual Plane such as "𠮷"
+     * that take 2 chars in a String. A lone surrogate char is {@link Script#OTHER}.
+     *
+     * @param codePoint eg from {@link String#codePointAt(int)}
+     * @throws IllegalArgumentException if it is not a valid code point
      */
-    public boolean isCharHiragana(char chr) {
-        return isCharInRange(chr, Constants.HIRAGANA_START, Constants.HIRAGANA_END);
+    public Script classify(int codePoint) {
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw new IllegalArgumentException("Not a valid code point: " + codePoint);
+        }
+        return ScriptTable.of(codePoint);
+    }
+
+    /**
+     * Checks if a character is from the Katakana script.
+     */
+    public boolean isCharKatakana(char chr) {
+        return ScriptTable.of(chr) == Script.KATAKANA;
     }
 
     /**
-     * Checks if a character is a Japanese punctuation.
+     * Checks if a character is from the Hiragana script.
      */
-    private boolean isCharJapanesePunctuation(char chr) {
-        return isCharInRange(chr, Constants.JAPANESE_PUNCTUATION_START, Constants.JAPANESE_PUNCTUATION_END);
+    public boolean isCharHiragana(char chr) {
+        return ScriptTable.of(chr) == Script.HIRAGANA;
     }
 
     /**
      * Checks if a character is a kana syllable (Hiragana or Katakana).
      */
     public boolean isCharKana(char chr) {
-        return isCharHiragana(chr) || isCharKatakana(chr);
+        return ScriptTable.of(chr).isKana();
     }
 
     /**
      * Checks if a character is a Japanese Kanji character.
+     * Always false for half of a surrogate pair, see {@link #isCharKanji(int)}.
      */
     public boolean isCharKanji(char chr) {
-        if (!isCharInRange(chr, Constants.KANJI_START, Constants.KANJI_END)) {
-            if (!isCharInRange(chr, Constants.RARE_KANJI_START, Constants.RARE_KANJI_END)) {
-                return false;
-            }
-        }
-        return true;
+        return ScriptTable.of(chr) == Script.KANJI;
+    }
+
+    /**
+     * Checks if a code point is a Japanese Kanji character, including those outside the Basic Multilingual Plane.
+     *
+     * @see #classify(int)
+     */
+    public boolean isCharKanji(int codePoint) {
+        return classify(codePoint) == Script.KANJI;
     }
 
     /**
      * Checks if an entire string contains only Hiragana characters.
      */
     public boolean isHiragana(String s) {
-        for (int i = 0; i < s.length(); i++) {
-            if (!isCharHiragana(s.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return consistsOf(s, Script.HIRAGANA);
     }
 
     /**
      * Checks if an entire string contains only Katakana characters.
      */
     public boolean isKatakana(String s) {
-        for (int i = 0; i < s.length(); i++) {
-            if (!isCharKatakana(s.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return consistsOf(s, Script.KATAKANA);
     }
 
     /**
      * Checks if an entire string contains only Kanji characters.
      */
     public boolean isKanji(String s) {
-        for (int i = 0; i < s.length(); i++) {
-            if (!isCharKanji(s.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return consistsOf(s, Script.KANJI);
     }
 
     /**
      * Checks if an entire string contains only Japanese punctuations.
      */
     public boolean isJapanesePunctuation(String s) {
+        return consistsOf(s, Script.JAPANESE_PUNCTUATION);
+    }
+
+    /**
+     * Walks the string by code point, so that a Kanji written as a surrogate pair counts as 1 Kanji. A surrogate
+     * char is never of the script itself, so pairs cost nothing until one is met.
+     */
+    private static boolean consistsOf(String s, Script script) {
         for (int i = 0; i < s.length(); i++) {
-            if (!isCharJapanesePunctuation(s.charAt(i))) {
-                return false;
+            char c = s.charAt(i);
+            if (ScriptTable.of(c) != script) {
+                if (!Character.isHighSurrogate(c) || ScriptTable.of(s.codePointAt(i)) != script) {
+                    return false;
+                }
+                i++; //the low surrogate
             }
         }
         return true;
     }
 
     /**
-     * Checks if a string is ASCII.
+     * Splits the text into runs of the same {@link Script}, in one pass and without creating substrings, eg to hand
+     * each part of a field to the right converter. "山田たろう Taro。" has 5 runs: Kanji, Hiragana, other (the
+     * space), Latin and Japanese punctuation.
+     *
+     * <p>A Kanji written as a surrogate pair is part of the Kanji run around it; every run starts and ends on a
+     * code point.</p>
+     */
+    public void segment(CharSequence s, RunHandler handler) {
+        int start = 0;
+        while (start < s.length()) {
+            Script script = scriptAt(s, start);
+            int end = runEnd(s, start, script);
+            handler.run(start, end - start, script);
+            start = end;
+        }
+    }
+
+    /**
+     * Like {@link #segment(CharSequence, RunHandler)}, but writes the runs into a buffer that can be reused: run
+     * <code>i</code> is <code>runs[3 * i]</code> (start), <code>runs[3 * i + 1]</code> (length) and
+     * <code>runs[3 * i + 2]</code> (ordinal of the {@link Script}, see {@link Script#values()}).
+     *
+     * <p>If the buffer is full before the end of the text, the scan stops; call again from the end of the last run
+     * for the rest.</p>
+     *
+     * @param start where to start, the start of a run.
+     * @return the number of runs written, at most <code>runs.length / 3</code>.
+     */
+    public int segment(CharSequence s, int start, int[] runs) {
+        int count = 0;
+        while (start < s.length() && 3 * count + 2 < runs.length) {
+            Script script = scriptAt(s, start);
+            int end = runEnd(s, start, script);
+            runs[3 * count] = start;
+            runs[3 * count + 1] = end - start;
+            runs[3 * count + 2] = script.ordinal();
+            count++;
+            start = end;
+        }
+        return count;
+    }
+
+    private static Script scriptAt(CharSequence s, int i) {
+        char c = s.charAt(i);
+        return isPairAt(s, i) ? ScriptTable.of(Character.toCodePoint(c, s.charAt(i + 1))) : ScriptTable.of(c);
+    }
+
+    /**
+     * @return the index after the run of <code>script</code> that starts at <code>start</code>.
+     */
+    private static int runEnd(CharSequence s, int start, Script script) {
+        int i = start;
+        while (i < s.length()) {
+            Script charScript = ScriptTable.of(s.charAt(i));
+            //a surrogate char is OTHER, whatever the script of its pair
+            if (charScript == script && (script != Script.OTHER || !isPairAt(s, i))) {
+                i++;
+            } else if (isPairAt(s, i) && scriptAt(s, i) == script) {
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isPairAt(CharSequence s, int i) {
+        return Character.isHighSurrogate(s.charAt(i))
+                && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1));
+    }
+
+    /**
+     * Checks if a string is ASCII. False for the empty string.
      */
     public boolean isAscii(String s) {
-        return s.matches("\\p{ASCII}+");
+        return !s.isEmpty() && CharKernels.isAscii(s, 0, s.length());
     }
 
 
@@ -165,20 +268,4 @@ public class Scriber {
 //        return s.replaceAll("[^\\p{ASCII}]", "");
 //    }
 
-
-
-    /**
-     * Checks if the character is a certain Unicode range.
-     * <p>
-     * Example: If it's between 0x3040 and 0x309F, then it's a Hiragana character.
-     *
-     * @param chr   character to verify
-     * @param start from which index to start checking
-     * @param end   until which index to check
-     */
-    private boolean isCharInRange(char chr, int start, int end) {
-        int unicode = chr;
-        return (start <= unicode && unicode <= end);
-    }
-
 }
@@ -0,0 +1,36 @@
+package com.optimaize.wanakana;
+
+/**
+ * The script of a character, as classified by {@link Scriber#classify(char)}.
+ *
+ * Every character has exactly 1 script. The ranges are the ones from {@link Constants}.
+ */
+public enum Script {
+
+    HIRAGANA,
+    KATAKANA,
+    /**
+     * Common, uncommon and rare Kanji.
+     */
+    KANJI,
+    /**
+     * Japanese punctuation and symbols, including the ideographic space.
+     */
+    JAPANESE_PUNCTUATION,
+    /**
+     * Letters of the Latin script, including those with diacritics, eg "ō". Not digits, spaces or punctuation.
+     */
+    LATIN,
+    /**
+     * Everything else: digits, spaces, common punctuation, other scripts.
+     */
+    OTHER;
+
+    /**
+     * @return true for Hiragana and Katakana.
+     */
+    public boolean isKana() {
+        return this == HIRAGANA || this == KATAKANA;
+    }
+
+}
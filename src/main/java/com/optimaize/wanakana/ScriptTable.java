@@ -0,0 +1,257 @@
+package com.optimaize.wanakana;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link Script} of every code point, precomputed once.
+ *
+ * One byte per code point (the ordinal of the script). The Basic Multilingual Plane, where nearly all text is, is a
+ * flat table of 64KB, so classifying a char is a single array load, used by {@link Scriber} and by the converters
+ * in their loops. The supplementary planes are a two level table: the code point's page (its upper bits) selects
+ * a block of 256 bytes, and its lower 8 bits the byte in there. Pages with the same content share the block, so
+ * the 1 million supplementary code points take a few KB.
+ *
+ * Computing the tables means looking at every char, so they are generated by the build, see
+ * {@link GeneratedTables}.
+ */
+final class ScriptTable {
+
+    private static final Script[] SCRIPTS = Script.values();
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int OFFSET_MASK = PAGE_SIZE - 1;
+    private static final int PAGE_COUNT =
+            (Character.MAX_CODE_POINT + 1 - Character.MIN_SUPPLEMENTARY_CODE_POINT) >>> PAGE_BITS;
+
+    /**
+     * "STB1", the start of the written form, and its version.
+     */
+    private static final int MAGIC = 0x53544231;
+
+    private static final byte[] BMP;
+    /**
+     * The start of its block in {@link #BLOCKS}, per page, from the first supplementary one.
+     */
+    private static final int[] PAGES;
+    private static final byte[] BLOCKS;
+
+    static {
+        Tables tables = null;
+        ByteBuffer generated = GeneratedTables.read(GeneratedTables.SCRIPTS);
+        if (generated != null) {
+            try {
+                tables = Tables.read(generated);
+            } catch (IOException e) {
+                //unreadable, compute it instead
+            }
+        }
+        if (tables == null) {
+            tables = compute();
+        }
+        BMP = tables.bmp;
+        PAGES = tables.pages;
+        BLOCKS = tables.blocks;
+    }
+
+    private ScriptTable() {
+    }
+
+    /**
+     * Classifies every code point.
+     */
+    static Tables compute() {
+        byte[] bmp = new byte[Character.MAX_VALUE + 1];
+        Arrays.fill(bmp, (byte) Script.OTHER.ordinal());
+        fill(bmp, Constants.HIRAGANA_START, Constants.HIRAGANA_END, Script.HIRAGANA);
+        fill(bmp, Constants.KATAKANA_START, Constants.KATAKANA_END, Script.KATAKANA);
+        fill(bmp, Constants.KANJI_START, Constants.KANJI_END, Script.KANJI);
+        fill(bmp, Constants.RARE_KANJI_START, Constants.RARE_KANJI_END, Script.KANJI);
+        fill(bmp, Constants.COMPATIBILITY_KANJI_START, Constants.COMPATIBILITY_KANJI_END, Script.KANJI);
+        fill(bmp, Constants.JAPANESE_PUNCTUATION_START, Constants.JAPANESE_PUNCTUATION_END,
+                Script.JAPANESE_PUNCTUATION);
+        fillLatin(bmp, 0);
+
+        //plane 1 is computed code point by code point, the ideographic planes above are all Kanji, and beyond them
+        //there are only tags, variation selectors and private use
+        byte[] plane1 = new byte[Character.MIN_SUPPLEMENTARY_CODE_POINT];
+        Arrays.fill(plane1, (byte) Script.OTHER.ordinal());
+        fillLatin(plane1, Character.MIN_SUPPLEMENTARY_CODE_POINT);
+        byte[] kanji = new byte[PAGE_SIZE];
+        fill(kanji, 0, PAGE_SIZE - 1, Script.KANJI);
+        byte[] other = new byte[PAGE_SIZE];
+        fill(other, 0, PAGE_SIZE - 1, Script.OTHER);
+
+        Blocks blocks = new Blocks();
+        int[] pages = new int[PAGE_COUNT];
+        for (int page = 0; page < pages.length; page++) {
+            int codePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT + (page << PAGE_BITS);
+            if (codePoint < Constants.SUPPLEMENTARY_KANJI_START) {
+                pages[page] = blocks.add(plane1, page << PAGE_BITS);
+            } else if (codePoint <= Constants.SUPPLEMENTARY_KANJI_END) {
+                pages[page] = blocks.add(kanji, 0);
+            } else {
+                pages[page] = blocks.add(other, 0);
+            }
+        }
+        return new Tables(bmp, pages, blocks.toArray());
+    }
+
+    private static void fill(byte[] table, int start, int end, Script script) {
+        Arrays.fill(table, start, end + 1, (byte) script.ordinal());
+    }
+
+    /**
+     * Marks the Latin letters not yet classified otherwise.
+     *
+     * @param first the code point of <code>table[0]</code>
+     */
+    private static void fillLatin(byte[] table, int first) {
+        for (int i = 0; i < table.length; i++) {
+            int codePoint = first + i;
+            if (table[i] == Script.OTHER.ordinal()
+                    && Character.isLetter(codePoint)
+                    && Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.LATIN) {
+                table[i] = (byte) Script.LATIN.ordinal();
+            }
+        }
+    }
+
+    /**
+     * A surrogate, half of a code point, is {@link Script#OTHER}.
+     */
+    static Script of(char c) {
+        return SCRIPTS[BMP[c]];
+    }
+
+    /**
+     * @param codePoint a valid one, from 0 to {@link Character#MAX_CODE_POINT}
+     */
+    static Script of(int codePoint) {
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            return SCRIPTS[BMP[codePoint]];
+        }
+        int supplementary = codePoint - Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        return SCRIPTS[BLOCKS[PAGES[supplementary >>> PAGE_BITS] + (supplementary & OFFSET_MASK)]];
+    }
+
+    /**
+     * The arrays, as computed or read.
+     */
+    static final class Tables {
+        private final byte[] bmp;
+        private final int[] pages;
+        private final byte[] blocks;
+
+        private Tables(byte[] bmp, int[] pages, byte[] blocks) {
+            this.bmp = bmp;
+            this.pages = pages;
+            this.blocks = blocks;
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeInt(MAGIC);
+            out.write(bmp);
+            for (int page : pages) {
+                out.writeInt(page);
+            }
+            out.writeInt(blocks.length);
+            out.write(blocks);
+        }
+
+        /**
+         * @throws IOException if the input is not a table written by {@link #write}, or not for this version.
+         */
+        static Tables read(ByteBuffer in) throws IOException {
+            try {
+                if (in.getInt() != MAGIC) {
+                    throw new IOException("Not a ScriptTable, or written by another version");
+                }
+                byte[] bmp = new byte[Character.MAX_VALUE + 1];
+                in.get(bmp);
+                int[] pages = new int[PAGE_COUNT];
+                in.asIntBuffer().get(pages);
+                ((Buffer) in).position(in.position() + 4 * pages.length);
+                byte[] blocks = new byte[in.getInt()];
+                in.get(blocks);
+                for (int page : pages) {
+                    if (page < 0 || page > blocks.length - PAGE_SIZE) {
+                        throw new IOException("Corrupt ScriptTable: block " + page + " of " + blocks.length);
+                    }
+                }
+                for (byte script : bmp) {
+                    checkScript(script);
+                }
+                for (byte script : blocks) {
+                    checkScript(script);
+                }
+                return new Tables(bmp, pages, blocks);
+            } catch (BufferUnderflowException | NegativeArraySizeException e) {
+                throw new IOException("Corrupt ScriptTable", e);
+            }
+        }
+
+        private static void checkScript(byte script) throws IOException {
+            if (script < 0 || script >= SCRIPTS.length) {
+                throw new IOException("Corrupt ScriptTable: script " + script);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Tables)) {
+                return false;
+            }
+            Tables other = (Tables) o;
+            return Arrays.equals(bmp, other.bmp) && Arrays.equals(pages, other.pages)
+                    && Arrays.equals(blocks, other.blocks);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(bmp) + Arrays.hashCode(pages);
+        }
+    }
+
+    /**
+     * Collects the distinct blocks.
+     */
+    private static final class Blocks {
+        private final Map<ByteBuffer, Integer> starts = new HashMap<>();
+        private byte[] bytes = new byte[PAGE_SIZE * 16];
+        private int length = 0;
+
+        /**
+         * @return the start of the block with the same content as <code>source</code> from <code>offset</code>.
+         */
+        int add(byte[] source, int offset) {
+            ByteBuffer block = ByteBuffer.wrap(source, offset, PAGE_SIZE).slice();
+            Integer start = starts.get(block);
+            if (start == null) {
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, 2 * length);
+                }
+                System.arraycopy(source, offset, bytes, length, PAGE_SIZE);
+                start = length;
+                length += PAGE_SIZE;
+                starts.put(block, start);
+            }
+            return start;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+}
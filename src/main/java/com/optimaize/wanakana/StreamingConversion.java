@@ -0,0 +1,85 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Converts a Reader into a Writer through a fixed size buffer, for {@link Converter#convert(Reader, Writer)}.
+ *
+ * The input is converted line by line: every line as by {@link Converter#convert(String)}, and the line
+ * terminators ("\n", "\r") copied as they are. A line may be longer than the buffer; the converter then gets it
+ * in pieces, see {@link Line}.
+ */
+final class StreamingConversion {
+
+    static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The conversion of one line, fed in pieces. Keeps whatever state it needs between the pieces.
+     */
+    interface Line {
+
+        /**
+         * Converts the next chars of the line, from <code>start</code> to <code>end</code>.
+         *
+         * @param lineEnds true if the line ends at <code>end</code>; then all chars must be converted, and the state
+         *                 reset for the next line.
+         * @return where it stopped, at most 3 chars before <code>end</code>: chars that may form a chunk with the
+         *         ones that follow. They are passed again in the next call. Always <code>end</code> if the line ends.
+         */
+        int convert(CharSequence chars, int start, int end, boolean lineEnds) throws IOException;
+
+    }
+
+    private StreamingConversion() {
+    }
+
+    /**
+     * For converters that cannot resume within a line: collects every line and converts it whole, so memory grows
+     * with the longest line.
+     */
+    static Line wholeLines(Converter converter, StringBuilder converted) {
+        StringBuilder line = new StringBuilder();
+        return (chars, start, end, lineEnds) -> {
+            line.append(chars, start, end);
+            if (lineEnds) {
+                converted.append(converter.convert(line.toString()));
+                line.setLength(0);
+            }
+            return end;
+        };
+    }
+
+    /**
+     * @param line writes the converted chars into <code>converted</code>
+     */
+    static void convert(Reader in, Writer out, Line line, StringBuilder converted) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        CharSequence chars = CharBuffer.wrap(buffer);
+        int carried = 0; //chars left at the start of the buffer by the previous round, without line terminators
+        int read;
+        while ((read = in.read(buffer, carried, buffer.length - carried)) != -1) {
+            int end = carried + read;
+            int lineStart = 0;
+            for (int i = carried; i < end; i++) {
+                char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    line.convert(chars, lineStart, i, true);
+                    converted.append(c);
+                    lineStart = i + 1;
+                }
+            }
+            int stop = line.convert(chars, lineStart, end, false);
+            carried = end - stop;
+            System.arraycopy(buffer, stop, buffer, 0, carried);
+            out.append(converted);
+            converted.setLength(0);
+        }
+        line.convert(chars, 0, carried, true);
+        out.append(converted);
+        converted.setLength(0);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.optimaize.wanakana;
+
+/**
+ * Thrown by {@link HiraganaToRomajiConverter#convertToVariants(String, int, VariantBudgetPolicy)} with the policy
+ * {@link VariantBudgetPolicy#FAIL} when an input has more variants than the budget allows.
+ */
+public class VariantBudgetExceededException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long variantCount;
+    private final int maxVariants;
+
+    /**
+     * @param variantCount Long.MAX_VALUE if there are more than that.
+     */
+    public VariantBudgetExceededException(String input, long variantCount, int maxVariants) {
+        super("Input has " + (variantCount == Long.MAX_VALUE ? "more than " + variantCount : variantCount)
+                + " variants, more than the allowed " + maxVariants + ": " + input);
+        this.variantCount = variantCount;
+        this.maxVariants = maxVariants;
+    }
+
+    /**
+     * @return how many variants the input has, Long.MAX_VALUE if there are more than that.
+     */
+    public long getVariantCount() {
+        return variantCount;
+    }
+
+    /**
+     * @return the budget that was exceeded.
+     */
+    public int getMaxVariants() {
+        return maxVariants;
+    }
+
+}
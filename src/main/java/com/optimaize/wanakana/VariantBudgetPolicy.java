@@ -0,0 +1,24 @@
+package com.optimaize.wanakana;
+
+/**
+ * What {@link HiraganaToRomajiConverter#convertToVariants(String, int, VariantBudgetPolicy)} does when an input
+ * has more variants than the budget allows.
+ */
+public enum VariantBudgetPolicy {
+
+    /**
+     * Returns the first variants, as many as the budget allows, in the usual order.
+     */
+    TRUNCATE,
+
+    /**
+     * Returns only the canonical variant, the first one, in which every long vowel is a plain vowel (eg "ono").
+     */
+    CANONICAL,
+
+    /**
+     * Throws a {@link VariantBudgetExceededException} before generating any variant.
+     */
+    FAIL
+
+}
@@ -0,0 +1,220 @@
+package com.optimaize.wanakana;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * All variants of a Romaji transcription in one compact form, without expanding them.
+ *
+ * <p>The pattern is fixed text with choice points, for example <code>sat{o|oh|oo}</code> for the 3 variants
+ * "sato", "satoh" and "satoo". {@link #toString()} gives this form and {@link #parse(String)} reads it back.
+ * The characters <code>{ | } \</code> in the text or the options are escaped with a backslash.</p>
+ *
+ * <p>{@link #matches(CharSequence)} tells if a candidate is one of the variants in a single pass over the
+ * candidate, instead of comparing it against all 3^k expanded variants.</p>
+ *
+ * <p>Immutable and thread safe.</p>
+ */
+public final class VariantPattern {
+
+    private final String[] literals;
+    private final String[][] choices;
+
+    /**
+     * @param literals one more than <code>choices</code>: the text before, between and after the choice points.
+     * @param choices  each with at least 1 option.
+     */
+    VariantPattern(String[] literals, String[][] choices) {
+        if (literals.length != choices.length + 1) {
+            throw new IllegalArgumentException("Need 1 more literal than choices!");
+        }
+        this.literals = literals;
+        this.choices = choices;
+    }
+
+    /**
+     * Reads the form written by {@link #toString()}.
+     *
+     * @throws IllegalArgumentException on unbalanced braces or a dangling backslash.
+     */
+    public static VariantPattern parse(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<String[]> choices = new ArrayList<>();
+        List<String> options = null; //not null while inside braces
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (++i == pattern.length()) {
+                    throw new IllegalArgumentException("Dangling escape at the end of: " + pattern);
+                }
+                text.append(pattern.charAt(i));
+            } else if (c == '{') {
+                if (options != null) {
+                    throw new IllegalArgumentException("Nested '{' at " + i + " in: " + pattern);
+                }
+                literals.add(text.toString());
+                text.setLength(0);
+                options = new ArrayList<>();
+            } else if (c == '|' && options != null) {
+                options.add(text.toString());
+                text.setLength(0);
+            } else if (c == '}') {
+                if (options == null) {
+                    throw new IllegalArgumentException("Unbalanced '}' at " + i + " in: " + pattern);
+                }
+                options.add(text.toString());
+                text.setLength(0);
+                choices.add(options.toArray(new String[0]));
+                options = null;
+            } else if (c == '|') {
+                throw new IllegalArgumentException("'|' outside of braces at " + i + " in: " + pattern);
+            } else {
+                text.append(c);
+            }
+        }
+        if (options != null) {
+            throw new IllegalArgumentException("Unclosed '{' in: " + pattern);
+        }
+        literals.add(text.toString());
+        return new VariantPattern(literals.toArray(new String[0]), choices.toArray(new String[0][]));
+    }
+
+    /**
+     * @return how many variants the pattern stands for (counting duplicates), or Long.MAX_VALUE if more.
+     */
+    public long count() {
+        long total = 1;
+        for (String[] choice : choices) {
+            if (total > Long.MAX_VALUE / choice.length) {
+                return Long.MAX_VALUE;
+            }
+            total *= choice.length;
+        }
+        return total;
+    }
+
+    /**
+     * Tells if <code>candidate</code> is one of the variants, case sensitive.
+     *
+     * Keeps the set of candidate positions that the pattern can have reached so far, and moves it forward
+     * once per text and choice point. Allocates nothing for candidates shorter than 63 chars.
+     */
+    public boolean matches(CharSequence candidate) {
+        int length = candidate.length();
+        if (length < 63) {
+            return matchesShort(candidate);
+        }
+        return matchesLong(candidate);
+    }
+
+    private boolean matchesShort(CharSequence candidate) {
+        long positions = advance(1L, literals[0], candidate);
+        for (int i = 0; i < choices.length && positions != 0; i++) {
+            long next = 0;
+            for (String option : choices[i]) {
+                next |= advance(positions, option, candidate);
+            }
+            positions = advance(next, literals[i + 1], candidate);
+        }
+        return (positions & (1L << candidate.length())) != 0;
+    }
+
+    /**
+     * @return the positions after <code>text</code>, from those of <code>positions</code> where it matches.
+     */
+    private static long advance(long positions, String text, CharSequence candidate) {
+        long result = 0;
+        while (positions != 0) {
+            int position = Long.numberOfTrailingZeros(positions);
+            positions &= positions - 1;
+            if (regionMatches(candidate, position, text)) {
+                result |= 1L << (position + text.length());
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesLong(CharSequence candidate) {
+        BitSet positions = new BitSet(candidate.length() + 1);
+        positions.set(0);
+        positions = advance(positions, literals[0], candidate);
+        for (int i = 0; i < choices.length && !positions.isEmpty(); i++) {
+            BitSet next = new BitSet(candidate.length() + 1);
+            for (String option : choices[i]) {
+                next.or(advance(positions, option, candidate));
+            }
+            positions = advance(next, literals[i + 1], candidate);
+        }
+        return positions.get(candidate.length());
+    }
+
+    private static BitSet advance(BitSet positions, String text, CharSequence candidate) {
+        BitSet result = new BitSet(candidate.length() + 1);
+        for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+            if (regionMatches(candidate, position, text)) {
+                result.set(position + text.length());
+            }
+        }
+        return result;
+    }
+
+    private static boolean regionMatches(CharSequence candidate, int position, String text) {
+        if (position + text.length() > candidate.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (candidate.charAt(position + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the serialized form, eg <code>sat{o|oh|oo}</code>. See {@link #parse(String)}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < choices.length; i++) {
+            escape(literals[i], sb);
+            sb.append('{');
+            for (int j = 0; j < choices[i].length; j++) {
+                if (j > 0) {
+                    sb.append('|');
+                }
+                escape(choices[i][j], sb);
+            }
+            sb.append('}');
+        }
+        escape(literals[choices.length], sb);
+        return sb.toString();
+    }
+
+    private static void escape(String text, StringBuilder sb) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '|' || c == '}' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VariantPattern that = (VariantPattern) o;
+        return Arrays.equals(literals, that.literals) && Arrays.deepEquals(choices, that.choices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(literals) + Arrays.deepHashCode(choices);
+    }
+
+}
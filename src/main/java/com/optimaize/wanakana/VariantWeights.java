@@ -0,0 +1,67 @@
+package com.optimaize.wanakana;
+
+/**
+ * How likely each spelling of a long vowel is, to rank the variants of
+ * {@link HiraganaToRomajiConverter#convertToVariants(String)}, eg by how often each spelling is seen in passports.
+ *
+ * <p>A variant weighs the product of the weights of its spellings; a variant without long vowels weighs 1.
+ * Only the ratios matter, so counts work as well as probabilities. Immutable.</p>
+ */
+public final class VariantWeights {
+
+    /**
+     * Every spelling the same weight. Ranking by it keeps the usual order of the variants.
+     */
+    public static final VariantWeights UNIFORM = longO(1, 1, 1);
+
+    private final double o;
+    private final double oh;
+    private final double oo;
+
+    private VariantWeights(double o, double oh, double oo) {
+        this.o = o;
+        this.oh = oh;
+        this.oo = oo;
+    }
+
+    /**
+     * @param o  the weight of "ō" spelled "o", eg "ono"
+     * @param oh the weight of "oh", eg "ohno"
+     * @param oo the weight of "oo", eg "oono"
+     * @throws IllegalArgumentException if a weight is negative or not a finite number.
+     */
+    public static VariantWeights longO(double o, double oh, double oo) {
+        check(o);
+        check(oh);
+        check(oo);
+        return new VariantWeights(o, oh, oo);
+    }
+
+    private static void check(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("A weight must be finite and not negative, was: " + weight);
+        }
+    }
+
+    /**
+     * @param spelling an option of a choice point of {@link RomajiVariants}
+     */
+    double weight(String spelling) {
+        switch (spelling) {
+            case "o":
+                return o;
+            case "oh":
+                return oh;
+            case "oo":
+                return oo;
+            default:
+                return 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VariantWeights{o=" + o + ", oh=" + oh + ", oo=" + oo + '}';
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.optimaize.wanakana;
+
+import java.io.IOException;
+
+/**
+ * Conversions between Romaji, Hiragana and Katakana, with the same rules and results as the original WanaKana
+ * library (and {@link WanaKanaJava}).
+ *
+ * <p>Immutable and thread safe: configure it once with the {@link Builder} and share the instance. The mapping
+ * tables are compiled once and shared by all instances, so creating one is cheap.</p>
+ *
+ * <p>This keeps the character ranges of the original library, which differ slightly from {@link Constants}:
+ * Hiragana is 3041-3096 and Katakana is 30A1-30FA.</p>
+ */
+public final class WanaKana {
+
+    private static final int HIRAGANA_START = 0x3041;
+    private static final int HIRAGANA_END = 0x3096;
+    private static final int KATAKANA_START = 0x30A1;
+    private static final int KATAKANA_END = 0x30FA;
+    private static final int KATAKANA_TO_HIRAGANA = HIRAGANA_START - KATAKANA_START;
+
+    private static final CharTrie KANA_TO_ROMAJI = GeneratedTables.kanaToRomaji();
+
+    private static final WanaKana DEFAULT = builder().build();
+
+    private final boolean useObsoleteKana;
+    private final boolean imeMode;
+    private final RomajiToKana romajiToKana;
+
+    private WanaKana(Builder builder) {
+        this.useObsoleteKana = builder.useObsoleteKana;
+        this.imeMode = builder.imeMode;
+        this.romajiToKana = new RomajiToKana(useObsoleteKana, imeMode);
+    }
+
+    /**
+     * @return the instance with the default options: no obsolete kana, no IME mode.
+     */
+    public static WanaKana getInstance() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private boolean useObsoleteKana = false;
+        private boolean imeMode = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Convert "wi" to "ゐ" and "we" to "ゑ". Default false.
+         */
+        public Builder useObsoleteKana(boolean useObsoleteKana) {
+            this.useObsoleteKana = useObsoleteKana;
+            return this;
+        }
+
+        /**
+         * Input is typed as it comes: "n'" is "ん", and a trailing "n" or "ny" is left as is. Default false.
+         */
+        public Builder imeMode(boolean imeMode) {
+            this.imeMode = imeMode;
+            return this;
+        }
+
+        public WanaKana build() {
+            return new WanaKana(this);
+        }
+
+    }
+
+    public boolean isUseObsoleteKana() {
+        return useObsoleteKana;
+    }
+
+    public boolean isImeMode() {
+        return imeMode;
+    }
+
+
+    /**
+     * @return true if every char is Hiragana, also for the empty string.
+     */
+    public boolean isHiragana(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (!isCharHiragana(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if every char is Katakana, also for the empty string.
+     */
+    public boolean isKatakana(String input) {
+        return isKatakana(input, 0, input.length());
+    }
+
+    /**
+     * @return true if every char is Hiragana or Katakana, also for the empty string.
+     */
+    public boolean isKana(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isCharHiragana(c) && !isCharKatakana(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if no char is Hiragana or Katakana, also for the empty string.
+     */
+    public boolean isRomaji(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (isCharHiragana(c) || isCharKatakana(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Romaji (ignoring case) and Katakana are converted, mixed input is returned as is.
+     */
+    public String toHiragana(String input) {
+        String shifted = KanaKinds.shiftAll(input, KanaKinds.KATAKANA, KATAKANA_TO_HIRAGANA);
+        return shifted != null ? shifted : romajiToKana(input, RomajiToKana.Output.HIRAGANA);
+    }
+
+    /**
+     * Hiragana and Romaji are converted, mixed input is returned as is.
+     */
+    public String toKatakana(String input) {
+        String shifted = KanaKinds.shiftAll(input, KanaKinds.HIRAGANA, -KATAKANA_TO_HIRAGANA);
+        return shifted != null ? shifted : romajiToKana(input, RomajiToKana.Output.KATAKANA);
+    }
+
+    /**
+     * Converts Romaji, lowercase to Hiragana and uppercase to Katakana.
+     */
+    public String toKana(String input) {
+        return romajiToKana(input, RomajiToKana.Output.BY_CASE);
+    }
+
+    /**
+     * Converts Hiragana and Katakana with the rules of the original library. For passport names use
+     * {@link HiraganaToRomajiConverter} instead.
+     */
+    public String toRomaji(String input) {
+        if (isRomaji(input)) {
+            return input;
+        }
+        int len = input.length();
+        StringBuilder roma = new StringBuilder(len * 2);
+        boolean nextCharIsDoubleConsonant = false;
+        int cursor = 0;
+        while (cursor < len) {
+            int chunkSize = Math.min(2, len - cursor);
+            String romaChar = null;
+            boolean fold = false;
+            while (chunkSize > 0) {
+                //a chunk is looked up as Hiragana if it is all Katakana
+                fold = isKatakana(input, cursor, cursor + chunkSize);
+                if (fold(input.charAt(cursor), fold) == 'っ' && chunkSize == 1 && cursor < len - 1) {
+                    nextCharIsDoubleConsonant = true;
+                    romaChar = "";
+                    break;
+                }
+                romaChar = lookupKana(input, cursor, cursor + chunkSize, fold);
+                if (romaChar != null) {
+                    if (nextCharIsDoubleConsonant && !romaChar.isEmpty()) {
+                        roma.append(romaChar.charAt(0));
+                        nextCharIsDoubleConsonant = false;
+                    }
+                    break;
+                }
+                chunkSize--;
+            }
+            if (romaChar == null) {
+                roma.append(fold(input.charAt(cursor), fold));
+            } else {
+                roma.append(romaChar);
+            }
+            cursor += chunkSize > 0 ? chunkSize : 1;
+        }
+        return roma.toString();
+    }
+
+
+    private String romajiToKana(String roma, RomajiToKana.Output output) {
+        StringBuilder kana = new StringBuilder(roma.length());
+        try {
+            romajiToKana.convert(roma, 0, roma.length(), kana, output);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return kana.toString();
+    }
+
+    private static String lookupKana(String s, int start, int end, boolean fold) {
+        int node = CharTrie.ROOT;
+        for (int i = start; i < end; i++) {
+            node = KANA_TO_ROMAJI.step(node, fold(s.charAt(i), fold));
+            if (node == CharTrie.NONE) {
+                return null;
+            }
+        }
+        return KANA_TO_ROMAJI.value(node);
+    }
+
+    private static char fold(char c, boolean katakana) {
+        return katakana ? (char) (c + KATAKANA_TO_HIRAGANA) : c;
+    }
+
+    private static boolean isKatakana(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isCharKatakana(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCharHiragana(char c) {
+        return HIRAGANA_START <= c && c <= HIRAGANA_END;
+    }
+
+    private static boolean isCharKatakana(char c) {
+        return KATAKANA_START <= c && c <= KATAKANA_END;
+    }
+
+}
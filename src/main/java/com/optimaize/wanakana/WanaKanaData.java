@@ -0,0 +1,526 @@
+package com.optimaize.wanakana;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The mapping tables of the original WanaKana library, built once and shared by the instances of
+ * {@link WanaKanaJava}. {@link WanaKana} uses them compiled, see {@link GeneratedTables}.
+ */
+final class WanaKanaData {
+
+    /**
+     * Maps lowercase Romaji (1 to 4 chars) to Hiragana. Unmodifiable.
+     */
+    static final Map<String, String> ROMAJI_TO_KANA = Collections.unmodifiableMap(prepareRomajiToKana());
+
+    /**
+     * Maps Hiragana (1 or 2 chars) to Romaji. Unmodifiable.
+     */
+    static final Map<String, String> KANA_TO_ROMAJI = Collections.unmodifiableMap(prepareKanaToRomaji());
+
+    private WanaKanaData() {
+    }
+
+    private static Map<String, String> prepareRomajiToKana() {
+        Map<String, String> map = new HashMap<>();
+        map.put("a", "あ");
+        map.put("i", "い");
+        map.put("u", "う");
+        map.put("e", "え");
+        map.put("o", "お");
+        map.put("yi", "い");
+        map.put("wu", "う");
+        map.put("whu", "う");
+        map.put("xa", "ぁ");
+        map.put("xi", "ぃ");
+        map.put("xu", "ぅ");
+        map.put("xe", "ぇ");
+        map.put("xo", "ぉ");
+        map.put("xyi", "ぃ");
+        map.put("xye", "ぇ");
+        map.put("ye", "いぇ");
+        map.put("wha", "うぁ");
+        map.put("whi", "うぃ");
+        map.put("whe", "うぇ");
+        map.put("who", "うぉ");
+        map.put("wi", "うぃ");
+        map.put("we", "うぇ");
+        map.put("va", "ゔぁ");
+        map.put("vi", "ゔぃ");
+        map.put("vu", "ゔ");
+        map.put("ve", "ゔぇ");
+        map.put("vo", "ゔぉ");
+        map.put("vya", "ゔゃ");
+        map.put("vyi", "ゔぃ");
+        map.put("vyu", "ゔゅ");
+        map.put("vye", "ゔぇ");
+        map.put("vyo", "ゔょ");
+        map.put("ka", "か");
+        map.put("ki", "き");
+        map.put("ku", "く");
+        map.put("ke", "け");
+        map.put("ko", "こ");
+        map.put("lka", "ヵ");
+        map.put("lke", "ヶ");
+        map.put("xka", "ヵ");
+        map.put("xke", "ヶ");
+        map.put("kya", "きゃ");
+        map.put("kyi", "きぃ");
+        map.put("kyu", "きゅ");
+        map.put("kye", "きぇ");
+        map.put("kyo", "きょ");
+        map.put("qya", "くゃ");
+        map.put("qyu", "くゅ");
+        map.put("qyo", "くょ");
+        map.put("qwa", "くぁ");
+        map.put("qwi", "くぃ");
+        map.put("qwu", "くぅ");
+        map.put("qwe", "くぇ");
+        map.put("qwo", "くぉ");
+        map.put("qa", "くぁ");
+        map.put("qi", "くぃ");
+        map.put("qe", "くぇ");
+        map.put("qo", "くぉ");
+        map.put("kwa", "くぁ");
+        map.put("qyi", "くぃ");
+        map.put("qye", "くぇ");
+        map.put("ga", "が");
+        map.put("gi", "ぎ");
+        map.put("gu", "ぐ");
+        map.put("ge", "げ");
+        map.put("go", "ご");
+        map.put("gya", "ぎゃ");
+        map.put("gyi", "ぎぃ");
+        map.put("gyu", "ぎゅ");
+        map.put("gye", "ぎぇ");
+        map.put("gyo", "ぎょ");
+        map.put("gwa", "ぐぁ");
+        map.put("gwi", "ぐぃ");
+        map.put("gwu", "ぐぅ");
+        map.put("gwe", "ぐぇ");
+        map.put("gwo", "ぐぉ");
+        map.put("sa", "さ");
+        map.put("si", "し");
+        map.put("shi", "し");
+        map.put("su", "す");
+        map.put("se", "せ");
+        map.put("so", "そ");
+        map.put("za", "ざ");
+        map.put("zi", "じ");
+        map.put("zu", "ず");
+        map.put("ze", "ぜ");
+        map.put("zo", "ぞ");
+        map.put("ji", "じ");
+        map.put("sya", "しゃ");
+        map.put("syi", "しぃ");
+        map.put("syu", "しゅ");
+        map.put("sye", "しぇ");
+        map.put("syo", "しょ");
+        map.put("sha", "しゃ");
+        map.put("shu", "しゅ");
+        map.put("she", "しぇ");
+        map.put("sho", "しょ");
+        map.put("swa", "すぁ");
+        map.put("swi", "すぃ");
+        map.put("swu", "すぅ");
+        map.put("swe", "すぇ");
+        map.put("swo", "すぉ");
+        map.put("zya", "じゃ");
+        map.put("zyi", "じぃ");
+        map.put("zyu", "じゅ");
+        map.put("zye", "じぇ");
+        map.put("zyo", "じょ");
+        map.put("ja", "じゃ");
+        map.put("ju", "じゅ");
+        map.put("je", "じぇ");
+        map.put("jo", "じょ");
+        map.put("jya", "じゃ");
+        map.put("jyi", "じぃ");
+        map.put("jyu", "じゅ");
+        map.put("jye", "じぇ");
+        map.put("jyo", "じょ");
+        map.put("ta", "た");
+        map.put("ti", "ち");
+        map.put("tu", "つ");
+        map.put("te", "て");
+        map.put("to", "と");
+        map.put("chi", "ち");
+        map.put("tsu", "つ");
+        map.put("ltu", "っ");
+        map.put("xtu", "っ");
+        map.put("tya", "ちゃ");
+        map.put("tyi", "ちぃ");
+        map.put("tyu", "ちゅ");
+        map.put("tye", "ちぇ");
+        map.put("tyo", "ちょ");
+        map.put("cha", "ちゃ");
+        map.put("chu", "ちゅ");
+        map.put("che", "ちぇ");
+        map.put("cho", "ちょ");
+        map.put("cya", "ちゃ");
+        map.put("cyi", "ちぃ");
+        map.put("cyu", "ちゅ");
+        map.put("cye", "ちぇ");
+        map.put("cyo", "ちょ");
+        map.put("tsa", "つぁ");
+        map.put("tsi", "つぃ");
+        map.put("tse", "つぇ");
+        map.put("tso", "つぉ");
+        map.put("tha", "てゃ");
+        map.put("thi", "てぃ");
+        map.put("thu", "てゅ");
+        map.put("the", "てぇ");
+        map.put("tho", "てょ");
+        map.put("twa", "とぁ");
+        map.put("twi", "とぃ");
+        map.put("twu", "とぅ");
+        map.put("twe", "とぇ");
+        map.put("two", "とぉ");
+        map.put("da", "だ");
+        map.put("di", "ぢ");
+        map.put("du", "づ");
+        map.put("de", "で");
+        map.put("do", "ど");
+        map.put("dya", "ぢゃ");
+        map.put("dyi", "ぢぃ");
+        map.put("dyu", "ぢゅ");
+        map.put("dye", "ぢぇ");
+        map.put("dyo", "ぢょ");
+        map.put("dha", "でゃ");
+        map.put("dhi", "でぃ");
+        map.put("dhu", "でゅ");
+        map.put("dhe", "でぇ");
+        map.put("dho", "でょ");
+        map.put("dwa", "どぁ");
+        map.put("dwi", "どぃ");
+        map.put("dwu", "どぅ");
+        map.put("dwe", "どぇ");
+        map.put("dwo", "どぉ");
+        map.put("na", "な");
+        map.put("ni", "に");
+        map.put("nu", "ぬ");
+        map.put("ne", "ね");
+        map.put("no", "の");
+        map.put("nya", "にゃ");
+        map.put("nyi", "にぃ");
+        map.put("nyu", "にゅ");
+        map.put("nye", "にぇ");
+        map.put("nyo", "にょ");
+        map.put("ha", "は");
+        map.put("hi", "ひ");
+        map.put("hu", "ふ");
+        map.put("he", "へ");
+        map.put("ho", "ほ");
+        map.put("fu", "ふ");
+        map.put("hya", "ひゃ");
+        map.put("hyi", "ひぃ");
+        map.put("hyu", "ひゅ");
+        map.put("hye", "ひぇ");
+        map.put("hyo", "ひょ");
+        map.put("fya", "ふゃ");
+        map.put("fyu", "ふゅ");
+        map.put("fyo", "ふょ");
+        map.put("fwa", "ふぁ");
+        map.put("fwi", "ふぃ");
+        map.put("fwu", "ふぅ");
+        map.put("fwe", "ふぇ");
+        map.put("fwo", "ふぉ");
+        map.put("fa", "ふぁ");
+        map.put("fi", "ふぃ");
+        map.put("fe", "ふぇ");
+        map.put("fo", "ふぉ");
+        map.put("fyi", "ふぃ");
+        map.put("fye", "ふぇ");
+        map.put("ba", "ば");
+        map.put("bi", "び");
+        map.put("bu", "ぶ");
+        map.put("be", "べ");
+        map.put("bo", "ぼ");
+        map.put("bya", "びゃ");
+        map.put("byi", "びぃ");
+        map.put("byu", "びゅ");
+        map.put("bye", "びぇ");
+        map.put("byo", "びょ");
+        map.put("pa", "ぱ");
+        map.put("pi", "ぴ");
+        map.put("pu", "ぷ");
+        map.put("pe", "ぺ");
+        map.put("po", "ぽ");
+        map.put("pya", "ぴゃ");
+        map.put("pyi", "ぴぃ");
+        map.put("pyu", "ぴゅ");
+        map.put("pye", "ぴぇ");
+        map.put("pyo", "ぴょ");
+        map.put("ma", "ま");
+        map.put("mi", "み");
+        map.put("mu", "む");
+        map.put("me", "め");
+        map.put("mo", "も");
+        map.put("mya", "みゃ");
+        map.put("myi", "みぃ");
+        map.put("myu", "みゅ");
+        map.put("mye", "みぇ");
+        map.put("myo", "みょ");
+        map.put("ya", "や");
+        map.put("yu", "ゆ");
+        map.put("yo", "よ");
+        map.put("xya", "ゃ");
+        map.put("xyu", "ゅ");
+        map.put("xyo", "ょ");
+        map.put("ra", "ら");
+        map.put("ri", "り");
+        map.put("ru", "る");
+        map.put("re", "れ");
+        map.put("ro", "ろ");
+        map.put("rya", "りゃ");
+        map.put("ryi", "りぃ");
+        map.put("ryu", "りゅ");
+        map.put("rye", "りぇ");
+        map.put("ryo", "りょ");
+        map.put("la", "ら");
+        map.put("li", "り");
+        map.put("lu", "る");
+        map.put("le", "れ");
+        map.put("lo", "ろ");
+        map.put("lya", "りゃ");
+        map.put("lyi", "りぃ");
+        map.put("lyu", "りゅ");
+        map.put("lye", "りぇ");
+        map.put("lyo", "りょ");
+        map.put("wa", "わ");
+        map.put("wo", "を");
+        map.put("lwe", "ゎ");
+        map.put("xwa", "ゎ");
+        map.put("nn", "ん");
+        map.put("'n '", "ん");
+        map.put("xn", "ん");
+        map.put("ltsu", "っ");
+        map.put("xtsu", "っ");
+        return map;
+    }
+
+    private static Map<String, String> prepareKanaToRomaji() {
+        Map<String, String> map = new HashMap<>();
+        map.put("あ", "a");
+        map.put("い", "i");
+        map.put("う", "u");
+        map.put("え", "e");
+        map.put("お", "o");
+        map.put("ゔぁ", "va");
+        map.put("ゔぃ", "vi");
+        map.put("ゔ", "vu");
+        map.put("ゔぇ", "ve");
+        map.put("ゔぉ", "vo");
+        map.put("か", "ka");
+        map.put("き", "ki");
+        map.put("きゃ", "kya");
+        map.put("きぃ", "kyi");
+        map.put("きゅ", "kyu");
+        map.put("く", "ku");
+        map.put("け", "ke");
+        map.put("こ", "ko");
+        map.put("が", "ga");
+        map.put("ぎ", "gi");
+        map.put("ぐ", "gu");
+        map.put("げ", "ge");
+        map.put("ご", "go");
+        map.put("ぎゃ", "gya");
+        map.put("ぎぃ", "gyi");
+        map.put("ぎゅ", "gyu");
+        map.put("ぎぇ", "gye");
+        map.put("ぎょ", "gyo");
+        map.put("さ", "sa");
+        map.put("す", "su");
+        map.put("せ", "se");
+        map.put("そ", "so");
+        map.put("ざ", "za");
+        map.put("ず", "zu");
+        map.put("ぜ", "ze");
+        map.put("ぞ", "zo");
+        map.put("し", "shi");
+        map.put("しゃ", "sha");
+        map.put("しゅ", "shu");
+        map.put("しょ", "sho");
+        map.put("じ", "ji");
+        map.put("じゃ", "ja");
+        map.put("じゅ", "ju");
+        map.put("じょ", "jo");
+        map.put("た", "ta");
+        map.put("ち", "chi");
+        map.put("ちゃ", "cha");
+        map.put("ちゅ", "chu");
+        map.put("ちょ", "cho");
+        map.put("つ", "tsu");
+        map.put("て", "te");
+        map.put("と", "to");
+        map.put("だ", "da");
+        map.put("ぢ", "di");
+        map.put("づ", "du");
+        map.put("で", "de");
+        map.put("ど", "do");
+        map.put("な", "na");
+        map.put("に", "ni");
+        map.put("にゃ", "nya");
+        map.put("にゅ", "nyu");
+        map.put("にょ", "nyo");
+        map.put("ぬ", "nu");
+        map.put("ね", "ne");
+        map.put("の", "no");
+        map.put("は", "ha");
+        map.put("ひ", "hi");
+        map.put("ふ", "fu");
+        map.put("へ", "he");
+        map.put("ほ", "ho");
+        map.put("ひゃ", "hya");
+        map.put("ひゅ", "hyu");
+        map.put("ひょ", "hyo");
+        map.put("ふぁ", "fa");
+        map.put("ふぃ", "fi");
+        map.put("ふぇ", "fe");
+        map.put("ふぉ", "fo");
+        map.put("ば", "ba");
+        map.put("び", "bi");
+        map.put("ぶ", "bu");
+        map.put("べ", "be");
+        map.put("ぼ", "bo");
+        map.put("びゃ", "bya");
+        map.put("びゅ", "byu");
+        map.put("びょ", "byo");
+        map.put("ぱ", "pa");
+        map.put("ぴ", "pi");
+        map.put("ぷ", "pu");
+        map.put("ぺ", "pe");
+        map.put("ぽ", "po");
+        map.put("ぴゃ", "pya");
+        map.put("ぴゅ", "pyu");
+        map.put("ぴょ", "pyo");
+        map.put("ま", "ma");
+        map.put("み", "mi");
+        map.put("む", "mu");
+        map.put("め", "me");
+        map.put("も", "mo");
+        map.put("みゃ", "mya");
+        map.put("みゅ", "myu");
+        map.put("みょ", "myo");
+        map.put("や", "ya");
+        map.put("ゆ", "yu");
+        map.put("よ", "yo");
+        map.put("ら", "ra");
+        map.put("り", "ri");
+        map.put("る", "ru");
+        map.put("れ", "re");
+        map.put("ろ", "ro");
+        map.put("りゃ", "rya");
+        map.put("りゅ", "ryu");
+        map.put("りょ", "ryo");
+        map.put("わ", "wa");
+        map.put("を", "wo");
+        map.put("ん", "n");
+        map.put("ゐ", "wi");
+        map.put("ゑ", "we");
+        map.put("きぇ", "kye");
+        map.put("きょ", "kyo");
+        map.put("じぃ", "jyi");
+        map.put("じぇ", "jye");
+        map.put("ちぃ", "cyi");
+        map.put("ちぇ", "che");
+        map.put("ひぃ", "hyi");
+        map.put("ひぇ", "hye");
+        map.put("びぃ", "byi");
+        map.put("びぇ", "bye");
+        map.put("ぴぃ", "pyi");
+        map.put("ぴぇ", "pye");
+        map.put("みぇ", "mye");
+        map.put("みぃ", "myi");
+        map.put("りぃ", "ryi");
+        map.put("りぇ", "rye");
+        map.put("にぃ", "nyi");
+        map.put("にぇ", "nye");
+        map.put("しぃ", "syi");
+        map.put("しぇ", "she");
+        map.put("いぇ", "ye");
+        map.put("うぁ", "wha");
+        map.put("うぉ", "who");
+        map.put("うぃ", "wi");
+        map.put("うぇ", "we");
+        map.put("ゔゃ", "vya");
+        map.put("ゔゅ", "vyu");
+        map.put("ゔょ", "vyo");
+        map.put("すぁ", "swa");
+        map.put("すぃ", "swi");
+        map.put("すぅ", "swu");
+        map.put("すぇ", "swe");
+        map.put("すぉ", "swo");
+        map.put("くゃ", "qya");
+        map.put("くゅ", "qyu");
+        map.put("くょ", "qyo");
+        map.put("くぁ", "qwa");
+        map.put("くぃ", "qwi");
+        map.put("くぅ", "qwu");
+        map.put("くぇ", "qwe");
+        map.put("くぉ", "qwo");
+        map.put("ぐぁ", "gwa");
+        map.put("ぐぃ", "gwi");
+        map.put("ぐぅ", "gwu");
+        map.put("ぐぇ", "gwe");
+        map.put("ぐぉ", "gwo");
+        map.put("つぁ", "tsa");
+        map.put("つぃ", "tsi");
+        map.put("つぇ", "tse");
+        map.put("つぉ", "tso");
+        map.put("てゃ", "tha");
+        map.put("てぃ", "thi");
+        map.put("てゅ", "thu");
+        map.put("てぇ", "the");
+        map.put("てょ", "tho");
+        map.put("とぁ", "twa");
+        map.put("とぃ", "twi");
+        map.put("とぅ", "twu");
+        map.put("とぇ", "twe");
+        map.put("とぉ", "two");
+        map.put("ぢゃ", "dya");
+        map.put("ぢぃ", "dyi");
+        map.put("ぢゅ", "dyu");
+        map.put("ぢぇ", "dye");
+        map.put("ぢょ", "dyo");
+        map.put("でゃ", "dha");
+        map.put("でぃ", "dhi");
+        map.put("でゅ", "dhu");
+        map.put("でぇ", "dhe");
+        map.put("でょ", "dho");
+        map.put("どぁ", "dwa");
+        map.put("どぃ", "dwi");
+        map.put("どぅ", "dwu");
+        map.put("どぇ", "dwe");
+        map.put("どぉ", "dwo");
+        map.put("ふぅ", "fwu");
+        map.put("ふゃ", "fya");
+        map.put("ふゅ", "fyu");
+        map.put("ふょ", "fyo");
+        map.put("ぁ", "a");
+        map.put("ぃ", "i");
+        map.put("ぇ", "e");
+        map.put("ぅ", "u");
+        map.put("ぉ", "o");
+        map.put("ゃ", "ya");
+        map.put("ゅ", "yu");
+        map.put("ょ", "yo");
+        map.put("っ", "");
+        map.put("ゕ", "ka");
+        map.put("ゖ", "ka");
+        map.put("ゎ", "wa");
+        map.put("'　'", " ");
+        map.put("んあ", "n'a");
+        map.put("んい", "n'i");
+        map.put("んう", "n'u");
+        map.put("んえ", "n'e");
+        map.put("んお", "n'o");
+        map.put("んや", "n'ya");
+        map.put("んゆ", "n'yu");
+        map.put("んよ", "n'yo");
+        return map;
+    }
+
+}
@@ -0,0 +1,176 @@
+package crema.math.algo.combinatorics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * All combos of a {@link RuleOfProductComboBuilder}, without creating them up front.
+ *
+ * <p>The combos are numbered in the order of {@link RuleOfProductComboBuilder#build()}: the first group changes
+ * fastest. Combo <code>i</code> is decoded directly from its index, as a mixed radix number with the group sizes
+ * as the radixes. So any combo can be picked by index, eg to sample a huge space, and the {@link #spliterator()}
+ * splits by index ranges, so a parallel {@link #stream()} shares the work across cores.</p>
+ *
+ * <p>Immutable and thread safe, as long as the variants are. Every combo is a new modifiable list.</p>
+ */
+public final class ProductSpace<T> implements Iterable<List<T>> {
+
+    private final List<List<T>> groups;
+    private final long size;
+
+    /**
+     * @param groups not empty, none of them empty. Copied.
+     * @throws ArithmeticException if there are more than Long.MAX_VALUE combos.
+     */
+    ProductSpace(List<List<T>> groups) {
+        List<List<T>> copy = new ArrayList<>(groups.size());
+        long total = 1;
+        for (List<T> group : groups) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(group)));
+            total = Math.multiplyExact(total, group.size());
+        }
+        this.groups = Collections.unmodifiableList(copy);
+        this.size = total;
+    }
+
+    /**
+     * @return how many combos there are, the same as {@link RuleOfProductComboBuilder#computeProductSize()}.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the groups, unmodifiable.
+     */
+    public List<List<T>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return the same combo as <code>build().get(index)</code> would.
+     * @throws IndexOutOfBoundsException if the index is negative, or not smaller than {@link #size()}.
+     */
+    public List<T> get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return combo(decode(index));
+    }
+
+    /**
+     * Ordered and sized, splits in halves by index.
+     */
+    @Override
+    public Spliterator<List<T>> spliterator() {
+        return new IndexSpliterator(0, size);
+    }
+
+    @Override
+    public Iterator<List<T>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * @return a sequential stream, use <code>parallel()</code> to spread it over cores.
+     */
+    public Stream<List<T>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return for each group the index of its variant, the first group is the least significant digit.
+     */
+    private int[] decode(long index) {
+        int[] digits = new int[groups.size()];
+        for (int i = 0; i < digits.length; i++) {
+            int radix = groups.get(i).size();
+            digits[i] = (int) (index % radix);
+            index /= radix;
+        }
+        return digits;
+    }
+
+    /**
+     * The digits of the next index, without dividing.
+     */
+    private void increment(int[] digits) {
+        for (int i = 0; i < digits.length; i++) {
+            if (++digits[i] < groups.get(i).size()) {
+                return;
+            }
+            digits[i] = 0;
+        }
+    }
+
+    private List<T> combo(int[] digits) {
+        List<T> combo = new ArrayList<>(digits.length);
+        for (int i = 0; i < digits.length; i++) {
+            combo.add(groups.get(i).get(digits[i]));
+        }
+        return combo;
+    }
+
+    /**
+     * The combos from <code>index</code> to <code>end</code>. Decodes the first index when it starts, then counts
+     * up like an odometer.
+     */
+    private final class IndexSpliterator implements Spliterator<List<T>> {
+
+        private long index;
+        private final long end;
+        /**
+         * Of the last combo made, null until the first one. Then it does not split any more.
+         */
+        private int[] digits;
+
+        IndexSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<T>> action) {
+            if (index >= end) {
+                return false;
+            }
+            if (digits == null) {
+                digits = decode(index);
+            } else {
+                increment(digits);
+            }
+            index++;
+            action.accept(combo(digits));
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<T>> trySplit() {
+            if (digits != null || end - index < 2) {
+                return null;
+            }
+            long middle = index + (end - index) / 2;
+            Spliterator<List<T>> prefix = new IndexSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+}
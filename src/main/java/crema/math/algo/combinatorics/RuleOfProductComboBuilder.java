@@ -1,6 +1,7 @@
 package crema.math.algo.combinatorics;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,6 +36,9 @@ import java.util.List;
  *
  * <p>Note: null values and empty lists are not permitted.</p>
  *
+ * <p>To keep many combos in memory, see {@link #buildShared()}. For products too large to hold in memory, see
+ * {@link #buildSpace()}.</p>
+ *
  * <p>See also crema-string StringVariantBuilder.</p>
  *
  * <p>If you need the variants and results to be weighted, then just create a wrapper object containing your
@@ -170,4 +174,54 @@ public class RuleOfProductComboBuilder<T> {
         return ret;
     }
 
+    /**
+     * Like {@link #build()}, but the combos are immutable and share their first elements: each group with more
+     * than one variant adds one node per combo so far, and groups with a single variant add nothing per combo.
+     * Nothing is copied, so memory grows with the number of distinct prefixes, not with the product size times
+     * the number of groups. Reading a combo by index is linear, iterate instead.
+     *
+     * @return Not empty, unmodifiable.
+     * @throws IllegalStateException if the last group was empty, or nothing was added at all. See isEmpty()
+     */
+    public List<List<T>> buildShared() throws IllegalStateException {
+        checkGroupNotEmpty();
+
+        List<SharedPrefixList<T>> ret = new ArrayList<>();
+        ret.add(null); //the empty prefix
+        int i = 0;
+        while (i < groups.size()) {
+            List<T> group = groups.get(i++);
+            //the following groups with a single variant, shared by all nodes of this group
+            int fixedStart = i;
+            while (i < groups.size() && groups.get(i).size() == 1) {
+                i++;
+            }
+            Object[] fixed = new Object[i - fixedStart];
+            for (int j = 0; j < fixed.length; j++) {
+                fixed[j] = groups.get(fixedStart + j).get(0);
+            }
+            List<SharedPrefixList<T>> retTmp = new ArrayList<>(ret.size() * group.size());
+            for (T variant : group) {
+                for (SharedPrefixList<T> prefix : ret) {
+                    retTmp.add(new SharedPrefixList<>(prefix, variant, fixed));
+                }
+            }
+            ret = retTmp;
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Like {@link #build()}, but without creating the combos: they are decoded by index when asked for.
+     * Later changes to this builder do not affect the returned space.
+     *
+     * @return Not empty.
+     * @throws IllegalStateException if the last group was empty, or nothing was added at all. See isEmpty()
+     * @throws ArithmeticException if there are more than Long.MAX_VALUE combos.
+     */
+    public ProductSpace<T> buildSpace() throws IllegalStateException {
+        checkGroupNotEmpty();
+        return new ProductSpace<>(groups);
+    }
+
 }
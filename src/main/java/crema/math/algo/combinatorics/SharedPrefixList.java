@@ -0,0 +1,93 @@
+package crema.math.algo.combinatorics;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable list made of the list before it, one element, and some fixed elements, for
+ * {@link RuleOfProductComboBuilder#buildShared()}.
+ *
+ * <p>Lists with the same first elements share them: adding a variant creates one node and copies nothing. The
+ * fixed elements come from the groups with a single variant, the same for all combos, so their array is shared
+ * too. Access by index walks back from the end, so it is linear; iterating is linear for the whole list.</p>
+ */
+final class SharedPrefixList<T> extends AbstractList<T> {
+
+    private final SharedPrefixList<T> prefix;
+    private final T variant;
+    private final Object[] fixed;
+    private final int size;
+
+    /**
+     * @param prefix null for the first node.
+     * @param fixed  the elements after <code>variant</code>, not copied.
+     */
+    SharedPrefixList(SharedPrefixList<T> prefix, T variant, Object[] fixed) {
+        this.prefix = prefix;
+        this.variant = variant;
+        this.fixed = fixed;
+        this.size = (prefix == null ? 0 : prefix.size) + 1 + fixed.length;
+    }
+
+    /**
+     * @return the list before the variant, null for the first node.
+     */
+    SharedPrefixList<T> prefix() {
+        return prefix;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        SharedPrefixList<T> node = this;
+        int variantIndex = size - 1 - fixed.length;
+        while (index < variantIndex) {
+            node = node.prefix;
+            variantIndex = node.size - 1 - node.fixed.length;
+        }
+        return index == variantIndex ? node.variant : (T) node.fixed[index - variantIndex - 1];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (SharedPrefixList<T> node = this; node != null; node = node.prefix) {
+            int variantIndex = node.size - 1 - node.fixed.length;
+            array[variantIndex] = node.variant;
+            System.arraycopy(node.fixed, 0, array, variantIndex + 1, node.fixed.length);
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Object[] elements = toArray();
+        return new Iterator<T>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (next >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                return (T) elements[next++];
+            }
+        };
+    }
+
+}
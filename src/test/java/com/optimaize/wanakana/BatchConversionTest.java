@@ -0,0 +1,85 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.testng.Assert.assertEquals;
+
+public class BatchConversionTest {
+
+    private static final String[] NAMES = {"さとう", "たかとう", "おうのこう", "きょうと", "りゅうえん", "まっだ", "ささき"};
+
+    private final HiraganaToRomajiConverter hiraganaToRomajiConverter = HiraganaToRomajiConverter.getInstance();
+
+    @Test(dataProvider = "sizes")
+    public void convertAll(int size) {
+        List<String> inputs = inputs(size);
+        List<String> expected = new ArrayList<>();
+        for (String input : inputs) {
+            expected.add(hiraganaToRomajiConverter.convert(input));
+        }
+        assertEquals(hiraganaToRomajiConverter.convertAll(inputs), expected);
+        assertEquals(hiraganaToRomajiConverter.convertAll(inputs, Runnable::run), expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(hiraganaToRomajiConverter.convertAll(inputs, executor), expected);
+        } finally {
+            executor.shutdown();
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(hiraganaToRomajiConverter.convertAll(inputs, pool), expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(dataProvider = "sizes")
+    public void convertAllToVariants(int size) {
+        List<String> inputs = inputs(size);
+        List<List<String>> expected = new ArrayList<>();
+        for (String input : inputs) {
+            expected.add(hiraganaToRomajiConverter.convertToVariants(input));
+        }
+        assertEquals(hiraganaToRomajiConverter.convertAllToVariants(inputs), expected);
+    }
+
+    @DataProvider
+    public Object[][] sizes() {
+        return new Object[][]{
+                {0},
+                {1},
+                {BatchConversion.PARALLEL_THRESHOLD - 1},
+                {BatchConversion.PARALLEL_THRESHOLD},
+                {BatchConversion.PARALLEL_THRESHOLD * 5 + 3},
+        };
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void failureIsRethrown() {
+        List<String> inputs = inputs(BatchConversion.PARALLEL_THRESHOLD * 2);
+        inputs.set(10, null);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            hiraganaToRomajiConverter.convertAll(inputs, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> inputs(int size) {
+        List<String> inputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            inputs.add(NAMES[i % NAMES.length] + NAMES[(i / NAMES.length) % NAMES.length]);
+        }
+        return inputs;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class CachingConverterTest {
+
+    private final HiraganaToRomajiConverter hiraganaToRomajiConverter = HiraganaToRomajiConverter.getInstance();
+
+    @Test
+    public void sameResults() {
+        CachingConverter cache = new CachingConverter(hiraganaToRomajiConverter, 10);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(cache.convert("さとう"), hiraganaToRomajiConverter.convert("さとう"));
+            assertEquals(cache.convertToVariants("さとう"), hiraganaToRomajiConverter.convertToVariants("さとう"));
+        }
+        CachingConverter.Stats stats = cache.stats();
+        assertEquals(stats.getMissCount(), 2);
+        assertEquals(stats.getHitCount(), 4);
+        assertEquals(stats.getEvictionCount(), 0);
+        assertEquals(stats.getHitRate(), 4 / 6.0, 0.0001);
+        assertEquals(cache.size(), 2);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void variantsAreUnmodifiable() {
+        CachingConverter cache = new CachingConverter(hiraganaToRomajiConverter, 10);
+        cache.convertToVariants("さとう").add("satou");
+    }
+
+    @Test
+    public void boundedAndFrequencyAware() {
+        AtomicInteger calls = new AtomicInteger();
+        Converter counting = input -> {
+            calls.incrementAndGet();
+            return input.toUpperCase();
+        };
+        CachingConverter cache = new CachingConverter(counting, 4);
+        //with first in first out the hot entry would be evicted after 4 cold ones
+        for (int i = 0; i < 20; i++) {
+            assertEquals(cache.convert("hot"), "HOT");
+            assertEquals(cache.convert("cold" + i), "COLD" + i);
+        }
+        assertEquals(calls.get(), 21, "the frequently used entry was evicted");
+        assertEquals(cache.size(), 4);
+        assertEquals(cache.stats().getEvictionCount(), 17);
+    }
+
+    @Test
+    public void largeBoundAllocatesOnDemand() {
+        CachingConverter cache = new CachingConverter(hiraganaToRomajiConverter, Integer.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            cache.convert("さとう" + i);
+        }
+        assertEquals(cache.size(), 100);
+        assertEquals(cache.stats().getEvictionCount(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidSize() {
+        new CachingConverter(hiraganaToRomajiConverter, 0);
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        String[] names = {"さとう", "すずき", "たかはし", "たなか", "わたなべ", "いとう", "やまもと", "なかむら"};
+        CachingConverter cache = new CachingConverter(hiraganaToRomajiConverter, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        String name = names[(i * 7 + offset) % names.length];
+                        assertEquals(cache.convert(name), hiraganaToRomajiConverter.convert(name));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        CachingConverter.Stats stats = cache.stats();
+        assertEquals(stats.getHitCount() + stats.getMissCount(), 80000);
+        assertTrue(cache.size() <= 5);
+    }
+
+}
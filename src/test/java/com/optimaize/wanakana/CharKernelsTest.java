@@ -0,0 +1,77 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.Test;
+
+import java.nio.CharBuffer;
+
+import static org.testng.Assert.*;
+
+public class CharKernelsTest {
+
+    @Test
+    public void shiftEveryChar() {
+        char[] chars = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            chars[c] = (char) c;
+        }
+        assertTrue(CharKernels.shift(chars, 0, chars.length, (char) 0x3040, (char) 0x309F, 0x60));
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            int expected = 0x3040 <= c && c <= 0x309F ? c + 0x60 : c;
+            assertEquals(chars[c], (char) expected, Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    public void shiftRangeOnly() {
+        char[] chars = "xアいうy".toCharArray();
+        assertFalse(CharKernels.shift(chars, 4, 5, (char) 0x3040, (char) 0x309F, 0x60));
+        assertEquals(new String(chars), "xアいうy");
+        assertTrue(CharKernels.shift(chars, 0, 3, (char) 0x3040, (char) 0x309F, 0x60));
+        assertEquals(new String(chars), "xアイうy");
+        assertTrue(CharKernels.shift(chars, 0, 5, (char) 0x30A0, (char) 0x30FF, -0x60));
+        assertEquals(new String(chars), "xあいうy");
+    }
+
+    @Test
+    public void shiftAtTheEndsOfChar() {
+        char[] chars = {0, 1, 0xFFFE, 0xFFFF};
+        assertTrue(CharKernels.shift(chars, 0, 4, (char) 0xFFFF, (char) 0xFFFF, -1));
+        assertEquals(chars, new char[]{0, 1, 0xFFFE, 0xFFFE});
+        assertTrue(CharKernels.shift(chars, 0, 4, (char) 0, (char) 0, 1));
+        assertEquals(chars, new char[]{1, 1, 0xFFFE, 0xFFFE});
+    }
+
+    @Test
+    public void isAscii() {
+        char[] chars = "abc\u0080\u007F".toCharArray();
+        assertTrue(CharKernels.isAscii(chars, 0, 3));
+        assertFalse(CharKernels.isAscii(chars, 0, 4));
+        assertTrue(CharKernels.isAscii(chars, 4, 5));
+        assertTrue(CharKernels.isAscii(chars, 0, 0));
+        assertTrue(CharKernels.isAscii("abc", 0, 3));
+        assertFalse(CharKernels.isAscii("abcé", 0, 4));
+        assertTrue(CharKernels.isAscii("éabc", 1, 4));
+        assertTrue(CharKernels.isAscii(new StringBuilder("abc"), 0, 3));
+    }
+
+    @Test
+    public void copy() {
+        char[] dest = new char[5];
+        CharKernels.copy("xabcx", 1, 4, dest, 1);
+        assertEquals(new String(dest, 1, 3), "abc");
+        CharKernels.copy(new StringBuilder("xdefx"), 1, 4, dest, 1);
+        assertEquals(new String(dest, 1, 3), "def");
+        CharBuffer buffer = CharBuffer.wrap("xxghix".toCharArray());
+        buffer.position(1);
+        CharKernels.copy(buffer.slice(), 1, 4, dest, 1);
+        assertEquals(new String(dest, 1, 3), "ghi");
+        CharKernels.copy(CharBuffer.wrap("xjklx"), 1, 4, dest, 1); //read only, no array
+        assertEquals(new String(dest, 1, 3), "jkl");
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void copyOutOfCharBuffer() {
+        CharKernels.copy(CharBuffer.wrap(new char[3]), 1, 4, new char[5], 0);
+    }
+
+}
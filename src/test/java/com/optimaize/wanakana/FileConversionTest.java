@@ -0,0 +1,114 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+
+public class FileConversionTest {
+
+    private static final String[] NAMES = {"さとう", "たかとう", "おうのこう", "きょうと", "りゅうえん", "まっだ", "ささき", ""};
+
+    private final HiraganaToRomajiConverter hiraganaToRomajiConverter = HiraganaToRomajiConverter.getInstance();
+
+    private Path input;
+    private Path output;
+
+    @BeforeMethod
+    public void createFiles() throws IOException {
+        input = Files.createTempFile("wanakana", ".in");
+        output = Files.createTempFile("wanakana", ".out");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    @Test
+    public void manyChunks() throws IOException {
+        String text = randomLines(new Random(1), 5000) + "とおう";
+        write(text);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            FileConversion.convert(hiraganaToRomajiConverter, input, output, executor, 100, 4);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(read(), streamed(text));
+    }
+
+    @Test
+    public void singleChunk() throws IOException {
+        String text = randomLines(new Random(2), 200) + "\n";
+        write(text);
+        FileConversion.convert(hiraganaToRomajiConverter, input, output);
+        assertEquals(read(), streamed(text));
+    }
+
+    @Test
+    public void lineLongerThanChunk() throws IOException {
+        StringBuilder text = new StringBuilder("さとう\n");
+        for (int i = 0; i < 200; i++) {
+            text.append("こうの");
+        }
+        text.append("\nさとう");
+        write(text.toString());
+        FileConversion.convert(hiraganaToRomajiConverter, input, output, Runnable::run, 16, 1);
+        assertEquals(read(), streamed(text.toString()));
+    }
+
+    @Test
+    public void carriageReturnsOnly() throws IOException {
+        String text = randomLines(new Random(3), 500).replace("\r\n", "\n").replace('\n', '\r');
+        write(text);
+        FileConversion.convert(hiraganaToRomajiConverter, input, output, Runnable::run, 50, 2);
+        assertEquals(read(), streamed(text));
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        write("");
+        Files.write(output, "old".getBytes(StandardCharsets.UTF_8));
+        FileConversion.convert(hiraganaToRomajiConverter, input, output);
+        assertEquals(read(), "");
+    }
+
+    private String streamed(String text) throws IOException {
+        StringWriter out = new StringWriter();
+        hiraganaToRomajiConverter.convert(new StringReader(text), out);
+        return out.toString();
+    }
+
+    private static String randomLines(Random random, int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                sb.append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+            }
+            sb.append(NAMES[random.nextInt(NAMES.length)]).append(NAMES[random.nextInt(NAMES.length)]);
+        }
+        return sb.toString();
+    }
+
+    private void write(String text) throws IOException {
+        Files.write(input, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read() throws IOException {
+        return new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+    }
+
+}
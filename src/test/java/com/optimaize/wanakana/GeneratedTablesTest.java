@@ -0,0 +1,88 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.*;
+
+public class GeneratedTablesTest {
+
+    @DataProvider
+    public Object[][] tries() {
+        return new Object[][]{
+                {GeneratedTables.HIRAGANA_TO_ROMAJI,
+                        (Supplier<Map<String, String>>) HiraganaToRomajiData::prepareHiraToRomaji},
+                {GeneratedTables.ROMAJI_TO_KANA, (Supplier<Map<String, String>>) () -> WanaKanaData.ROMAJI_TO_KANA},
+                {GeneratedTables.KANA_TO_ROMAJI, (Supplier<Map<String, String>>) () -> WanaKanaData.KANA_TO_ROMAJI},
+        };
+    }
+
+    /**
+     * The build writes the resources, so they must be there, and the same as compiling the maps now.
+     */
+    @Test(dataProvider = "tries")
+    public void generatedSameAsCompiled(String resource, Supplier<Map<String, String>> table) throws IOException {
+        ByteBuffer bytes = GeneratedTables.read(resource);
+        assertNotNull(bytes, "not generated: " + resource);
+        CharTrie generated = CharTrie.read(bytes);
+        assertEquals(generated, CharTrie.compile(table.get()));
+        for (Map.Entry<String, String> entry : table.get().entrySet()) {
+            assertEquals(generated.get(entry.getKey(), 0, entry.getKey().length()), entry.getValue());
+        }
+    }
+
+    @Test(dataProvider = "tries")
+    public void writeAndRead(String resource, Supplier<Map<String, String>> table) throws IOException {
+        CharTrie trie = CharTrie.compile(table.get());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trie.write(new DataOutputStream(bytes));
+        assertEquals(CharTrie.read(ByteBuffer.wrap(bytes.toByteArray())), trie);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void readOther() throws IOException {
+        CharTrie.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void readTruncated() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CharTrie.compile(WanaKanaData.KANA_TO_ROMAJI).write(new DataOutputStream(bytes));
+        CharTrie.read(ByteBuffer.wrap(bytes.toByteArray(), 0, bytes.size() / 2));
+    }
+
+    @Test
+    public void missingResource() {
+        assertNull(GeneratedTables.read("missing.trie"));
+        assertNull(GeneratedTables.load("missing.trie"));
+    }
+
+    @Test
+    public void loadedTriesInUse() {
+        assertSame(GeneratedTables.hiraganaToRomaji(), GeneratedTables.hiraganaToRomaji());
+        assertEquals(GeneratedTables.romajiToKana(), CharTrie.compile(WanaKanaData.ROMAJI_TO_KANA));
+        assertEquals(GeneratedTables.kanaToRomaji(), CharTrie.compile(WanaKanaData.KANA_TO_ROMAJI));
+    }
+
+    @Test
+    public void scriptTableSameAsComputed() throws IOException {
+        ByteBuffer bytes = GeneratedTables.read(GeneratedTables.SCRIPTS);
+        assertNotNull(bytes, "not generated: " + GeneratedTables.SCRIPTS);
+        assertEquals(ScriptTable.Tables.read(bytes), ScriptTable.compute());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void scriptTableTruncated() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ScriptTable.compute().write(new DataOutputStream(bytes));
+        ScriptTable.Tables.read(ByteBuffer.wrap(bytes.toByteArray(), 0, bytes.size() - 1));
+    }
+
+}
@@ -3,11 +3,20 @@ package com.optimaize.wanakana;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public class HiraganaToRomajiConverterTest {
 
@@ -70,6 +79,23 @@ public class HiraganaToRomajiConverterTest {
                 {"にしうえはら", "nishiuehara"},
 
                 {"ええいち", "ēichi"},
+
+                //long vowel from "う" goes to the "o" right before it, and nothing is skipped
+                {"こきょうと", "kokyōto"},
+                {"こかうえ", "kokaue"},
+                //a word ending in a long vowel gets all the same ones contracted
+                {"きゅうしゅう", "kyūshū"},
+                {"ゆうきゅう", "yūkyū"},
+                {"くうふう", "kūfū"},
+                {"こおりこお", "kōrikō"},
+                {"りゅうこお", "ryuukō"},
+                //as in the original rules, "っう" reads the "っ" on its own, unless it ends the word with its first "う"
+                {"っうえ", "tsuue"},
+                {"かっう", "kaū"},
+                {"くうかっう", "kūkatsū"},
+                //after an "o", the "っ" is dropped and the "う" kept, as in the original rules
+                {"をっうと", "wōuto"},
+                {"よっうょそそへ", "yōuyososohe"},
                 {"ぎの", "gino"},
 
 
@@ -77,16 +103,251 @@ public class HiraganaToRomajiConverterTest {
                 {"日本", "日本"}, //Kanji
                 {"エーイチ", "エーイチ"}, //Katakana
                 {"romaji", "romaji"}, //Latin
+                {"sato taro", "sato taro"}, //Latin with space
                 {"Ελλάς", "Ελλάς"}, //Greek
                 {"Mосква", "Mосква"}, //Cyrillic
         };
     }
 
+    @Test(dataProvider = "simple")
+    public void sinks(String input, String expected) throws Exception {
+        String padded = "xx" + input + "y";
+        int start = 2;
+        int end = 2 + input.length();
+
+        StringBuilder sb = new StringBuilder("prefix");
+        hiraganaToRomajiConverter.convert(padded, start, end, sb);
+        assertEquals(sb.toString(), "prefix" + expected);
+
+        StringBuffer buffer = new StringBuffer(); //neither a StringBuilder nor a char array: converts ahead
+        hiraganaToRomajiConverter.convert(padded, start, end, buffer);
+        assertEquals(buffer.toString(), expected);
+
+        char[] dest = new char[1 + input.length() * 3];
+        int written = hiraganaToRomajiConverter.convert(padded, start, end, dest, 1);
+        assertEquals(new String(dest, 1, written), expected);
+    }
+
+    /**
+     * The state reused by the thread must not be shared with a conversion further up the stack.
+     */
+    @Test
+    public void appendableThatConverts() throws Exception {
+        StringBuilder inner = new StringBuilder();
+        StringBuilder outer = new StringBuilder();
+        Appendable converting = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                return append(csq, 0, csq.length());
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                for (int i = start; i < end; i++) {
+                    append(csq.charAt(i));
+                }
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c) {
+                inner.append(hiraganaToRomajiConverter.convert("くうかくう"));
+                outer.append(c);
+                return this;
+            }
+        };
+        hiraganaToRomajiConverter.convert("きゅうしゅう", 0, 6, converting);
+        assertEquals(outer.toString(), "kyūshū");
+        assertTrue(inner.length() > 0);
+        assertEquals(inner.toString().replace("kūkakū", ""), "");
+    }
+
+    /**
+     * A conversion that fails must not leave its state to the next one on the same thread.
+     */
+    @Test
+    public void failedConversionLeavesNoState() {
+        assertEquals(hiraganaToRomajiConverter.convert("かな"), "kana");
+        try {
+            hiraganaToRomajiConverter.convert("きゅうしゅうとうきょう", 0, 11, new char[3], 0);
+            fail("the array is too small");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+            //the conversion stops halfway
+        }
+        assertEquals(hiraganaToRomajiConverter.convert("かな"), "kana");
+
+        try {
+            hiraganaToRomajiConverter.convert("きゅうしゅうとうきょう", 0, 11, new FailingAppendable(3));
+            fail("the Appendable throws");
+        } catch (IOException expected) {
+            //the conversion stops halfway
+        }
+        assertEquals(hiraganaToRomajiConverter.convert("かな"), "kana");
+    }
+
+    /**
+     * Throws after a number of chars.
+     */
+    static final class FailingAppendable implements Appendable {
+
+        private int left;
+
+        FailingAppendable(int left) {
+            this.left = left;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                append(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            if (left-- == 0) {
+                throw new IOException("full");
+            }
+            return this;
+        }
+    }
+
     @Test(dataProvider = "variants")
     public void variants(String input, List<String> expected) {
         List<String> latin = hiraganaToRomajiConverter.convertToVariants(input);
         assertEquals(latin, expected);
     }
+    @Test(dataProvider = "variants")
+    public void lazyVariants(String input, List<String> expected) {
+        List<String> collected = new ArrayList<>();
+        hiraganaToRomajiConverter.forEachVariant(input, variant -> collected.add(variant.toString()));
+        assertEquals(collected, expected);
+
+        List<String> iterated = new ArrayList<>();
+        hiraganaToRomajiConverter.variantIterator(input).forEachRemaining(iterated::add);
+        assertEquals(iterated, expected);
+
+        assertEquals(hiraganaToRomajiConverter.streamVariants(input).collect(Collectors.toList()), expected);
+    }
+
+    @Test
+    public void lazyVariantsStopEarly() {
+        //3^20 variants, never built
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            name.append("こうか");
+        }
+        List<String> first = hiraganaToRomajiConverter.streamVariants(name.toString()).limit(2).collect(Collectors.toList());
+        assertEquals(first.size(), 2);
+        assertEquals(first.get(0).substring(0, 6), "kokako");
+        assertEquals(first.get(1).substring(0, 7), "kohkako");
+    }
+
+    @Test(dataProvider = "variants")
+    public void countVariants(String input, List<String> expected) {
+        assertEquals(hiraganaToRomajiConverter.countVariants(input), expected.size());
+    }
+
+    @Test
+    public void variantBudget() {
+        //9 variants
+        String input = "おうのこう";
+        assertEquals(hiraganaToRomajiConverter.countVariants(input), 9);
+
+        List<String> all = hiraganaToRomajiConverter.convertToVariants(input);
+        assertEquals(hiraganaToRomajiConverter.convertToVariants(input, 9, VariantBudgetPolicy.FAIL), all);
+        assertEquals(hiraganaToRomajiConverter.convertToVariants(input, 4, VariantBudgetPolicy.TRUNCATE), all.subList(0, 4));
+        assertEquals(hiraganaToRomajiConverter.convertToVariants(input, 4, VariantBudgetPolicy.CANONICAL), Collections.singletonList("onoko"));
+    }
+
+    @Test(dataProvider = "variants")
+    public void rankedVariantsUniform(String input, List<String> expected) {
+        List<String> ranked = new ArrayList<>();
+        hiraganaToRomajiConverter.rankedVariantIterator(input, VariantWeights.UNIFORM).forEachRemaining(ranked::add);
+        assertEquals(ranked, expected);
+    }
+
+    @Test
+    public void rankedVariants() {
+        VariantWeights weights = VariantWeights.longO(1, 4, 2);
+        List<String> ranked = new ArrayList<>();
+        hiraganaToRomajiConverter.rankedVariantIterator("おうのこう", weights).forEachRemaining(ranked::add);
+        //16, 8, 8, 4, 4, 4, 2, 2, 1
+        assertEquals(ranked, Arrays.asList("ohnokoh", "oonokoh", "ohnokoo", "onokoh", "oonokoo", "ohnoko",
+                "onokoo", "oonoko", "onoko"));
+        assertEquals(hiraganaToRomajiConverter.convertToTopVariants("おうのこう", 3, weights), ranked.subList(0, 3));
+        assertEquals(hiraganaToRomajiConverter.convertToTopVariants("おうのこう", 20, weights), ranked);
+        assertEquals(hiraganaToRomajiConverter.convertToTopVariants("さと", 3, weights), Collections.singletonList("sato"));
+    }
+
+    @Test
+    public void rankedVariantsAreSortedByWeight() {
+        Random random = new Random(42);
+        double[] choices = {0, 1, 2, 4, 8};
+        for (int round = 0; round < 200; round++) {
+            double[] w = {choices[random.nextInt(5)], choices[random.nextInt(5)], choices[random.nextInt(5)]};
+            int longVowels = random.nextInt(6);
+            StringBuilder input = new StringBuilder("な");
+            for (int i = 0; i < longVowels; i++) {
+                input.append(random.nextBoolean() ? "こう" : "とお");
+            }
+            List<String> all = hiraganaToRomajiConverter.convertToVariants(input.toString());
+            List<String> ranked = new ArrayList<>();
+            hiraganaToRomajiConverter.rankedVariantIterator(input.toString(), VariantWeights.longO(w[0], w[1], w[2]))
+                    .forEachRemaining(ranked::add);
+            assertEquals(new HashSet<>(ranked), new HashSet<>(all));
+            assertEquals(ranked.size(), all.size());
+            //the variants in the usual order: the first "ō" is the fastest digit, o, oh, oo
+            Map<String, Double> weightOf = new HashMap<>();
+            for (int index = 0; index < all.size(); index++) {
+                double weight = 1;
+                for (int i = 0, digits = index; i < longVowels; i++, digits /= 3) {
+                    weight *= w[digits % 3];
+                }
+                weightOf.put(all.get(index), weight);
+            }
+            for (int i = 1; i < ranked.size(); i++) {
+                assertTrue(weightOf.get(ranked.get(i - 1)) >= weightOf.get(ranked.get(i)), input + " " + ranked);
+            }
+        }
+    }
+
+    @Test
+    public void topVariantsOfHugeName() {
+        //3^20 variants, never built
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            name.append("こうか");
+        }
+        List<String> top = hiraganaToRomajiConverter.convertToTopVariants(name.toString(), 3,
+                VariantWeights.longO(2, 1, 4));
+        assertEquals(top.size(), 3);
+        assertEquals(top.get(0).substring(0, 8), "kookakoo");
+        assertEquals(top.get(1).substring(0, 7), "kokakoo");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeWeight() {
+        VariantWeights.longO(1, -1, 1);
+    }
+
+    @Test
+    public void variantBudgetFail() {
+        try {
+            hiraganaToRomajiConverter.convertToVariants("おうのこう", 8, VariantBudgetPolicy.FAIL);
+            fail("Expected a VariantBudgetExceededException");
+        } catch (VariantBudgetExceededException e) {
+            assertEquals(e.getVariantCount(), 9);
+            assertEquals(e.getMaxVariants(), 8);
+        }
+    }
+
     @DataProvider
     public Object[][] variants() {
         return new Object[][]{
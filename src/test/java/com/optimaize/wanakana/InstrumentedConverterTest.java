@@ -0,0 +1,120 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class InstrumentedConverterTest {
+
+    private final HiraganaToRomajiConverter hiraganaToRomajiConverter = HiraganaToRomajiConverter.getInstance();
+
+    @Test
+    public void countsCalls() throws Exception {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        assertEquals(converter.convert("さとう abc"), hiraganaToRomajiConverter.convert("さとう abc"));
+        StringBuilder out = new StringBuilder();
+        converter.convert("xさとう", 1, 4, out);
+        assertEquals(out.toString(), hiraganaToRomajiConverter.convert("さとう"));
+        char[] dest = new char[10];
+        int written = converter.convert("すし", 0, 2, dest, 0);
+        assertEquals(new String(dest, 0, written), "sushi");
+
+        ConverterMetrics metrics = converter.getMetrics();
+        assertEquals(metrics.getCalls(), 3);
+        assertEquals(metrics.getVariantCalls(), 0);
+        assertEquals(metrics.getCharacters(), 7 + 3 + 2);
+        assertEquals(metrics.getPassThroughCharacters(), 4);
+        long latencies = 0;
+        for (long count : metrics.getLatencyHistogram()) {
+            latencies += count;
+        }
+        assertEquals(latencies, 3);
+        assertTrue(metrics.getLatencyP50Nanos() <= metrics.getLatencyP99Nanos());
+    }
+
+    @Test
+    public void countsVariants() {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        List<String> variants = converter.convertToVariants("さとう");
+        assertEquals(variants, hiraganaToRomajiConverter.convertToVariants("さとう"));
+        converter.convertToVariants("すし");
+
+        ConverterMetrics metrics = converter.getMetrics();
+        assertEquals(metrics.getCalls(), 2);
+        assertEquals(metrics.getVariantCalls(), 2);
+        long[] histogram = metrics.getVariantCountHistogram();
+        assertEquals(histogram.length, 64);
+        assertEquals(histogram[1], 1); //1 variant for すし
+        assertEquals(histogram[64 - Long.numberOfLeadingZeros(variants.size())], 1);
+    }
+
+    @Test
+    public void disabledRecordsNothing() throws Exception {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        converter.getMetrics().setEnabled(false);
+        assertEquals(converter.convert("さとう"), hiraganaToRomajiConverter.convert("さとう"));
+        converter.convertToVariants("さとう");
+        converter.convert("さとう", 0, 3, new StringBuilder());
+        assertEquals(converter.getMetrics().getCalls(), 0);
+        assertEquals(converter.getMetrics().getCharacters(), 0);
+
+        converter.getMetrics().setEnabled(true);
+        converter.convert("さとう");
+        assertEquals(converter.getMetrics().getCalls(), 1);
+    }
+
+    @Test
+    public void streamingIsNotRecorded() throws Exception {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        StringWriter out = new StringWriter();
+        converter.convert(new StringReader("さとう\nすし"), out);
+        assertEquals(out.toString(), hiraganaToRomajiConverter.convert("さとう") + "\nsushi");
+        assertEquals(converter.getMetrics().getCalls(), 0);
+    }
+
+    @Test
+    public void reset() {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        converter.convertToVariants("さとう");
+        converter.getMetrics().reset();
+        assertEquals(converter.getMetrics().getCalls(), 0);
+        assertEquals(converter.getMetrics().getVariantCalls(), 0);
+        assertEquals(converter.getMetrics().getLatencyHistogram()[0], 0);
+        assertEquals(converter.getMetrics().getLatencyP99Nanos(), 0);
+    }
+
+    @Test
+    public void percentile() {
+        long[] histogram = new long[64];
+        histogram[3] = 90;
+        histogram[10] = 10;
+        assertEquals(ConverterMetrics.percentile(histogram, 0.5), 7);
+        assertEquals(ConverterMetrics.percentile(histogram, 0.99), 1023);
+        assertEquals(ConverterMetrics.percentile(new long[64], 0.5), 0);
+    }
+
+    @Test
+    public void jmx() throws Exception {
+        InstrumentedConverter converter = new InstrumentedConverter(hiraganaToRomajiConverter, Script.HIRAGANA);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = converter.getMetrics().register("test \"hiragana\"");
+        try {
+            converter.convert("さとう");
+            assertEquals(name.getKeyProperty("type"), "Converter");
+            assertEquals(server.getAttribute(name, "Calls"), 1L);
+            server.setAttribute(name, new Attribute("Enabled", false));
+            assertFalse(converter.getMetrics().isEnabled());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests {@link HiraganaToKatakanaConverter} and {@link KatakanaToHiraganaConverter}.
+ */
+public class KanaShiftConverterTest {
+
+    private final HiraganaToKatakanaConverter hiraganaToKatakanaConverter = HiraganaToKatakanaConverter.getInstance();
+    private final KatakanaToHiraganaConverter katakanaToHiraganaConverter = KatakanaToHiraganaConverter.getInstance();
+
+    @DataProvider
+    public Object[][] kana() {
+        return new Object[][]{
+                {"", "", ""},
+                {"すずき", "スズキ", "すずき"},
+                {"スズキ", "スズキ", "すずき"},
+                {"すずキ Taro", "スズキ Taro", "すずき Taro"},
+                {"コーヒー", "コーヒー", "こ゜ひ゜"},
+                {"日本", "日本", "日本"},
+        };
+    }
+
+    @Test(dataProvider = "kana")
+    public void convert(String input, String katakana, String hiragana) {
+        assertEquals(hiraganaToKatakanaConverter.convert(input), katakana);
+        assertEquals(katakanaToHiraganaConverter.convert(input), hiragana);
+    }
+
+    @Test(dataProvider = "kana")
+    public void convertInPlace(String input, String katakana, String hiragana) {
+        char[] chars = ("[" + input + "]").toCharArray();
+        assertEquals(hiraganaToKatakanaConverter.convertInPlace(chars, 1, chars.length - 1), !input.equals(katakana));
+        assertEquals(new String(chars), "[" + katakana + "]");
+        assertFalse(hiraganaToKatakanaConverter.convertInPlace(chars, 1, chars.length - 1));
+
+        assertEquals(katakanaToHiraganaConverter.convertInPlace(chars, 1, chars.length - 1),
+                !katakana.equals(katakanaToHiraganaConverter.convert(katakana)));
+        assertEquals(new String(chars), "[" + katakanaToHiraganaConverter.convert(katakana) + "]");
+    }
+
+    @Test(dataProvider = "kana")
+    public void convertCharBufferInPlace(String input, String katakana, String hiragana) {
+        CharBuffer heap = CharBuffer.wrap(("[" + input + "]").toCharArray(), 1, input.length());
+        assertEquals(hiraganaToKatakanaConverter.convertInPlace(heap), !input.equals(katakana));
+        assertEquals(heap.toString(), katakana);
+        assertEquals(new String(heap.array()), "[" + katakana + "]");
+
+        CharBuffer direct = ByteBuffer.allocateDirect(2 * input.length()).asCharBuffer();
+        direct.put(input).flip();
+        assertEquals(katakanaToHiraganaConverter.convertInPlace(direct), !input.equals(hiragana));
+        assertEquals(direct.toString(), hiragana);
+        assertEquals(direct.position(), 0);
+    }
+
+    @Test
+    public void unchangedInputIsNotCopied() {
+        String katakana = "スズキ";
+        assertSame(hiraganaToKatakanaConverter.convert(katakana), katakana);
+        String hiragana = "すずき";
+        assertSame(katakanaToHiraganaConverter.convert(hiragana), hiragana);
+    }
+
+    @Test
+    public void readOnlyWithoutChange() {
+        assertFalse(hiraganaToKatakanaConverter.convertInPlace(CharBuffer.wrap("スズキ")));
+    }
+
+    @Test(expectedExceptions = ReadOnlyBufferException.class)
+    public void readOnlyWithChange() {
+        hiraganaToKatakanaConverter.convertInPlace(CharBuffer.wrap("すずき"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        katakanaToHiraganaConverter.convertInPlace(new char[3], 1, 4);
+    }
+
+}
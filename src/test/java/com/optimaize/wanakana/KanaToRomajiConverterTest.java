@@ -0,0 +1,119 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class KanaToRomajiConverterTest {
+
+    private final KanaToRomajiConverter kanaToRomajiConverter = KanaToRomajiConverter.getInstance();
+
+    @Test(dataProvider = "kanaToRomaji")
+    public void kanaToRomaji(String input, String expected) {
+        assertEquals(kanaToRomajiConverter.convert(input), expected);
+    }
+
+    @Test(dataProvider = "kanaToRomaji")
+    public void sameAsTwoSteps(String input, String expected) {
+        assertEquals(kanaToRomajiConverter.convert(input), twoSteps(input));
+        assertEquals(kanaToRomajiConverter.convertToVariants(input),
+                HiraganaToRomajiConverter.getInstance().convertToVariants(
+                        KatakanaToHiraganaConverter.getInstance().convert(input)));
+    }
+
+    @DataProvider
+    public Object[][] kanaToRomaji() {
+        return new Object[][]{
+                {"", ""},
+                {"さとう", "satō"},
+                {"サトウ", "satō"},
+                {"サとウ", "satō"},
+                {"キッテ", "kitte"},
+                {"キっテ", "kitte"},
+                {"リュウ", "ryū"},
+                {"ジョン スミス", "jonsumisu"}, //whitespace within a chunk is dropped, as for Hiragana
+                {"ウエノ", "ueno"},
+                {"マイケル・ジャクソン", "maikeru゛jakuson"}, //・ is folded like KatakanaToHiraganaConverter does
+                {"コーヒー", "ko゜hi゜"},
+                {"ABCアイウ", "ABCaiu"},
+        };
+    }
+
+    @Test
+    public void randomMixedKanaSameAsTwoSteps() throws IOException {
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                switch (random.nextInt(5)) {
+                    case 0:
+                    case 1:
+                        input.append((char) (Constants.HIRAGANA_START + random.nextInt(0x60)));
+                        break;
+                    case 2:
+                    case 3:
+                        input.append((char) (Constants.KATAKANA_START + random.nextInt(0x60)));
+                        break;
+                    default:
+                        input.append(" a\t-ー".charAt(random.nextInt(5)));
+                }
+            }
+            String kana = input.toString();
+            String expected = twoSteps(kana);
+            assertEquals(kanaToRomajiConverter.convert(kana), expected, kana);
+
+            StringBuilder appended = new StringBuilder("x");
+            kanaToRomajiConverter.convert("[" + kana + "]", 1, kana.length() + 1, appended);
+            assertEquals(appended.toString(), "x" + expected, kana);
+
+            char[] dest = new char[3 * kana.length()];
+            assertEquals(new String(dest, 0, kanaToRomajiConverter.convert(kana, 0, kana.length(), dest, 0)),
+                    expected, kana);
+        }
+    }
+
+    @Test
+    public void streams() throws IOException {
+        String input = "サトウ\nすずき\nキッ\nテ";
+        StringWriter out = new StringWriter();
+        kanaToRomajiConverter.convert(new StringReader(input), out);
+        assertEquals(out.toString(), "satō\nsuzuki\nkitsu\nte");
+    }
+
+    /**
+     * A conversion that fails must not leave its state to the next one on the same thread.
+     */
+    @Test
+    public void failedConversionLeavesNoState() {
+        assertEquals(kanaToRomajiConverter.convert("カな"), "kana");
+        try {
+            kanaToRomajiConverter.convert("キュウしゅうトウきょう", 0, 11, new char[3], 0);
+            fail("the array is too small");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+            //the conversion stops halfway
+        }
+        assertEquals(kanaToRomajiConverter.convert("カな"), "kana");
+
+        try {
+            kanaToRomajiConverter.convert("キュウしゅうトウきょう", 0, 11,
+                    new HiraganaToRomajiConverterTest.FailingAppendable(3));
+            fail("the Appendable throws");
+        } catch (IOException expected) {
+            //the conversion stops halfway
+        }
+        assertEquals(kanaToRomajiConverter.convert("カな"), "kana");
+    }
+
+    private static String twoSteps(String kana) {
+        return HiraganaToRomajiConverter.getInstance().convert(KatakanaToHiraganaConverter.getInstance().convert(kana));
+    }
+
+}
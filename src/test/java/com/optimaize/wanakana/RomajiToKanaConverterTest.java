@@ -0,0 +1,78 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link RomajiToHiraganaConverter} and {@link RomajiToKatakanaConverter}.
+ */
+public class RomajiToKanaConverterTest {
+
+    private final RomajiToHiraganaConverter romajiToHiraganaConverter = RomajiToHiraganaConverter.getInstance();
+    private final RomajiToKatakanaConverter romajiToKatakanaConverter = RomajiToKatakanaConverter.getInstance();
+
+    @Test(dataProvider = "romajiToKana")
+    public void romajiToHiragana(String input, String hiragana, String katakana) {
+        assertEquals(romajiToHiraganaConverter.convert(input), hiragana);
+    }
+
+    @Test(dataProvider = "romajiToKana")
+    public void romajiToKatakana(String input, String hiragana, String katakana) {
+        assertEquals(romajiToKatakanaConverter.convert(input), katakana);
+    }
+
+    @Test(dataProvider = "romajiToKana")
+    public void sameAsWanaKana(String input, String hiragana, String katakana) {
+        assertEquals(WanaKana.getInstance().toHiragana(input), hiragana);
+        assertEquals(WanaKana.getInstance().toKatakana(input), katakana);
+    }
+
+    @DataProvider
+    public Object[][] romajiToKana() {
+        return new Object[][]{
+                {"wanikani", "わにかに", "ワニカニ"},
+                {"WaniKani", "わにかに", "ワニカニ"},
+                {"kanto", "かんと", "カント"},
+                {"kinnikuman", "きんにくまn", "キンニクマn"},
+                {"kinnikumann", "きんにくまん", "キンニクマン"},
+                {"nyan", "にゃn", "ニャn"},
+                {"kitte", "きって", "キッテ"},
+                {"KITTE", "きッて", "キッテ"},
+                {"shusshu", "しゅっしゅ", "シュッシュ"},
+                {"ltsu xtsu", "っ っ", "ッ ッ"},
+                {"chi-zu", "ちーず", "チーズ"},
+                {"wiwe", "うぃうぇ", "ウィウェ"},
+                {"tokyo 2020", "ときょ 2020", "トキョ 2020"},
+                {"", "", ""},
+        };
+    }
+
+    @Test
+    public void obsoleteKana() {
+        assertEquals(RomajiToHiraganaConverter.getInstance(true).convert("wiwe"), "ゐゑ");
+        assertEquals(RomajiToKatakanaConverter.getInstance(true).convert("wiwe"), "ヰヱ");
+    }
+
+    @Test
+    public void kanaIsKept() {
+        assertEquals(romajiToHiraganaConverter.convert("kaきku"), "かきく");
+    }
+
+    @Test
+    public void sinks() throws IOException {
+        String input = "xxkanto-yy";
+        StringBuilder sb = new StringBuilder(">");
+        romajiToHiraganaConverter.convert(input, 2, 8, sb);
+        assertEquals(sb.toString(), ">かんとー");
+
+        char[] dest = new char[8];
+        int written = romajiToKatakanaConverter.convert(input, 2, 8, dest, 1);
+        assertEquals(written, 4);
+        assertEquals(new String(dest, 1, written), "カントー");
+    }
+
+}
@@ -3,6 +3,9 @@ package com.optimaize.wanakana;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.testng.Assert.*;
 
 public class ScriberTest {
@@ -66,6 +69,48 @@ public class ScriberTest {
         };
     }
 
+    @Test
+    public void classify() {
+        assertEquals(scriber.classify('し'), Script.HIRAGANA);
+        assertEquals(scriber.classify('エ'), Script.KATAKANA);
+        assertEquals(scriber.classify('ー'), Script.KATAKANA);
+        assertEquals(scriber.classify('日'), Script.KANJI);
+        assertEquals(scriber.classify('\u3400'), Script.KANJI);//rare kanji
+        assertEquals(scriber.classify('\u3000'), Script.JAPANESE_PUNCTUATION);//ideographic space
+        assertEquals(scriber.classify('【'), Script.JAPANESE_PUNCTUATION);
+        assertEquals(scriber.classify('R'), Script.LATIN);
+        assertEquals(scriber.classify('ō'), Script.LATIN);
+        assertEquals(scriber.classify('λ'), Script.OTHER);
+        assertEquals(scriber.classify('к'), Script.OTHER);
+        assertEquals(scriber.classify('1'), Script.OTHER);
+        assertEquals(scriber.classify(' '), Script.OTHER);
+        assertEquals(scriber.classify('.'), Script.OTHER);
+
+        assertTrue(scriber.classify('し').isKana());
+        assertTrue(scriber.classify('エ').isKana());
+        assertFalse(scriber.classify('日').isKana());
+    }
+
+    @Test
+    public void classifyCodePoint() {
+        assertEquals(scriber.classify((int) 'し'), Script.HIRAGANA);
+        assertEquals(scriber.classify((int) 'R'), Script.LATIN);
+        assertEquals(scriber.classify("𠮷".codePointAt(0)), Script.KANJI);//U+20BB7, Extension B
+        assertEquals(scriber.classify(0x2A6D6), Script.KANJI);//Extension B
+        assertEquals(scriber.classify(0x30000), Script.KANJI);//Extension G
+        assertEquals(scriber.classify(0x2F800), Script.KANJI);//compatibility supplement
+        assertEquals(scriber.classify(0xFA11), Script.KANJI);//﨑, compatibility
+        assertEquals(scriber.classify(0x1F600), Script.OTHER);//emoji
+        assertEquals(scriber.classify(0xD842), Script.OTHER);//lone surrogate
+        assertEquals(scriber.classify(Character.MAX_CODE_POINT), Script.OTHER);
+        assertEquals(scriber.classify('\uD842'), Script.OTHER);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void classifyInvalidCodePoint() {
+        scriber.classify(Character.MAX_CODE_POINT + 1);
+    }
+
     @Test
     public void isCharHiragana() {
         assertTrue(scriber.isCharHiragana('し'));
@@ -132,6 +177,10 @@ public class ScriberTest {
         assertFalse(scriber.isCharKanji('。'));//punctuations
         assertFalse(scriber.isCharKanji(' '));//punctuations
         assertFalse(scriber.isCharKanji('.'));//punctuations
+
+        assertTrue(scriber.isCharKanji("𠮷".codePointAt(0)));
+        assertTrue(scriber.isCharKanji('﨑'));
+        assertFalse(scriber.isCharKanji("𠮷".charAt(0)));//half of the surrogate pair
     }
 
     @Test
@@ -182,6 +231,25 @@ public class ScriberTest {
         assertFalse(scriber.isKanji("【　】")); //with punctuations
     }
 
+    @Test(dataProvider = "supplementaryKanji")
+    public void isKanjiSupplementary(String input, boolean expected) {
+        assertEquals(scriber.isKanji(input), expected);
+    }
+    @DataProvider
+    public Object[][] supplementaryKanji() {
+        return new Object[][] {
+                {"𠮷田", true}, //Yoshida, with the "tsuchi-yoshi" variant, U+20BB7
+                {"𡈽井", true}, //U+2123D
+                {"山﨑", true}, //compatibility ideograph
+                {"髙橋", true},
+                {"𠮷", true},
+                {"𠮷\uD842", false}, //cut surrogate pair
+                {"\uDFB7田", false},
+                {"𠮷だ", false},
+                {"😀", false},
+        };
+    }
+
     @Test
     public void isJapanesePunctuation() {
         assertTrue(scriber.isJapanesePunctuation("\u3000")); //ideographic space
@@ -200,6 +268,57 @@ public class ScriberTest {
         assertFalse(scriber.isJapanesePunctuation("-"));
     }
 
+    @Test(dataProvider = "segment")
+    public void segment(String input, String expected) {
+        List<String> runs = new ArrayList<>();
+        scriber.segment(input,
+                (start, length, script) -> runs.add(input.substring(start, start + length) + "=" + script));
+        assertEquals(String.join(" | ", runs), expected);
+
+        //same runs in a buffer for 2 runs at a time
+        List<String> buffered = new ArrayList<>();
+        int[] buffer = new int[6];
+        int start = 0;
+        int count;
+        while ((count = scriber.segment(input, start, buffer)) > 0) {
+            for (int i = 0; i < count; i++) {
+                int runStart = buffer[3 * i];
+                int runEnd = runStart + buffer[3 * i + 1];
+                buffered.add(input.substring(runStart, runEnd) + "=" + Script.values()[buffer[3 * i + 2]]);
+                start = runEnd;
+            }
+        }
+        assertEquals(buffered, runs);
+    }
+    @DataProvider
+    public Object[][] segment() {
+        return new Object[][] {
+                {"", ""},
+                {"すずき", "すずき=HIRAGANA"},
+                {"山田たろう Taro。", "山田=KANJI | たろう=HIRAGANA |  =OTHER | Taro=LATIN | 。=JAPANESE_PUNCTUATION"},
+                {"スズキ一郎です", "スズキ=KATAKANA | 一郎=KANJI | です=HIRAGANA"},
+                {"𠮷田さん", "𠮷田=KANJI | さん=HIRAGANA"},
+                {"山𠮷𠮷", "山𠮷𠮷=KANJI"},
+                {"a 𠮷", "a=LATIN |  =OTHER | 𠮷=KANJI"},
+                {"1😀2", "1😀2=OTHER"},
+                {"ab\uD842", "ab=LATIN | \uD842=OTHER"}, //cut surrogate pair
+                {"\uDFB7田", "\uDFB7=OTHER | 田=KANJI"},
+        };
+    }
+
+    @Test
+    public void segmentSmallBuffer() {
+        int[] runs = new int[5]; //room for 1 run only
+        assertEquals(scriber.segment("すずきTaro", 0, runs), 1);
+        assertEquals(runs[0], 0);
+        assertEquals(runs[1], 3);
+        assertEquals(runs[2], Script.HIRAGANA.ordinal());
+        assertEquals(scriber.segment("すずきTaro", 3, runs), 1);
+        assertEquals(runs[1], 4);
+        assertEquals(scriber.segment("すずきTaro", 7, runs), 0);
+        assertEquals(scriber.segment("すずき", 0, new int[2]), 0);
+    }
+
     @Test
     public void isAscii() {
         assertTrue(scriber.isAscii("Romaji"));
@@ -213,6 +332,17 @@ public class ScriberTest {
         assertFalse(scriber.isAscii("日本"));
         assertFalse(scriber.isAscii("エーイチ"));
         assertFalse(scriber.isAscii("しょう"));
+
+        assertFalse(scriber.isAscii(""));
+        assertTrue(scriber.isAscii("\u007F"));
+        assertFalse(scriber.isAscii("\u0080"));
+        StringBuilder longAscii = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longAscii.append((char) (i % 128));
+        }
+        assertTrue(scriber.isAscii(longAscii.toString()));
+        assertFalse(scriber.isAscii(longAscii + "é"));
+        assertFalse(scriber.isAscii(longAscii.insert(130, 'ō').toString()));
     }
 
 }
\ No newline at end of file
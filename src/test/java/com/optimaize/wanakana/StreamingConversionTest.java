@@ -0,0 +1,148 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Streaming must give the same result as converting every line, wherever the reads split the input.
+ */
+public class StreamingConversionTest {
+
+    private static final String HIRAGANA = "さとうたかとおおうのこうりゅうえんまっだっきょうとええ　 x";
+    private static final String KATAKANA = "サトウタカトーキョウトッヴ　 x";
+    private static final String ROMAJI = "satoutakatonntokittenyanltsuxtsuwiwe-KITTEchi  x";
+
+    @Test(dataProvider = "converters")
+    public void lines(Converter converter, String alphabet) throws IOException {
+        String input = "\n" + alphabet + "\r\n" + alphabet + "\r\r" + alphabet + "\n\n";
+        assertStreams(converter, input, new StringReader(input));
+        assertStreams(converter, input, new TrickleReader(input, new Random(1), 1));
+    }
+
+    @Test(dataProvider = "converters")
+    public void randomSplits(Converter converter, String alphabet) throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            String input = randomText(random, alphabet, random.nextInt(60));
+            assertStreams(converter, input, new TrickleReader(input, random, 1 + random.nextInt(6)));
+        }
+    }
+
+    @Test(dataProvider = "converters")
+    public void lineLongerThanBuffer(Converter converter, String alphabet) throws IOException {
+        Random random = new Random(7);
+        String input = randomText(random, alphabet, StreamingConversion.BUFFER_SIZE * 3 + 17)
+                .replace('\n', 'x').replace('\r', 'x');
+        assertStreams(converter, input, new StringReader(input));
+        assertStreams(converter, input + "\n" + input, new TrickleReader(input + "\n" + input, random, 5000));
+    }
+
+    /**
+     * A line is held back from its first double vowel on, so that all of them are contracted if it ends in one,
+     * but only so far.
+     */
+    @Test
+    public void doubleVowelsFarApart() throws IOException {
+        Converter converter = HiraganaToRomajiConverter.getInstance();
+        StringBuilder input = new StringBuilder("くう");
+        StringBuilder expected = new StringBuilder("kuu");
+        for (int i = 0; i < HiraganaToRomajiConverter.Transcription.MAX_TAIL; i++) {
+            input.append('か');
+            expected.append("ka");
+        }
+        input.append("くう");
+        expected.append("kū");
+        StringWriter out = new StringWriter();
+        converter.convert(new StringReader(input.toString()), out);
+        assertEquals(out.toString(), expected.toString());
+
+        String near = "くう" + input.substring(2, 2 + HiraganaToRomajiConverter.Transcription.MAX_TAIL / 3) + "くう";
+        assertStreams(converter, near, new TrickleReader(near, new Random(5), 100));
+    }
+
+    @DataProvider
+    public Object[][] converters() {
+        return new Object[][]{
+                {HiraganaToRomajiConverter.getInstance(), HIRAGANA},
+                {KatakanaToHiraganaConverter.getInstance(), KATAKANA},
+                {HiraganaToKatakanaConverter.getInstance(), HIRAGANA},
+                {RomajiToHiraganaConverter.getInstance(), ROMAJI},
+                {RomajiToKatakanaConverter.getInstance(true), ROMAJI},
+        };
+    }
+
+    @Test
+    public void defaultImplementation() throws IOException {
+        Converter upperCase = String::toUpperCase;
+        String input = "abc\ndef\r\n\nghi";
+        assertStreams(upperCase, input, new TrickleReader(input, new Random(3), 2));
+    }
+
+    private static void assertStreams(Converter converter, String input, Reader reader) throws IOException {
+        StringWriter out = new StringWriter();
+        converter.convert(reader, out);
+        assertEquals(out.toString(), convertLines(converter, input), input);
+    }
+
+    private static String convertLines(Converter converter, String input) {
+        StringBuilder expected = new StringBuilder();
+        int lineStart = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r') {
+                expected.append(converter.convert(input.substring(lineStart, i))).append(c);
+                lineStart = i + 1;
+            }
+        }
+        return expected.append(converter.convert(input.substring(lineStart))).toString();
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        String chars = alphabet + "\n";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns at most <code>maxRead</code> chars per read, to split the input at every possible place.
+     */
+    private static final class TrickleReader extends Reader {
+        private final String text;
+        private final Random random;
+        private final int maxRead;
+        private int position = 0;
+
+        TrickleReader(String text, Random random, int maxRead) {
+            this.text = text;
+            this.random = random;
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(length, 1 + random.nextInt(maxRead)), text.length() - position);
+            text.getChars(position, position + n, buffer, offset);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.optimaize.wanakana;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The build step that writes the resources of {@link GeneratedTables}, run in the process-test-classes phase (see
+ * the pom). In the test sources so that it is not shipped.
+ */
+public final class TableGenerator {
+
+    private TableGenerator() {
+    }
+
+    /**
+     * Computes all tables and writes them into the package directory under <code>args[0]</code>, the classes
+     * output directory.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args[0], GeneratedTables.class.getPackage().getName().replace('.', '/'));
+        Files.createDirectories(directory);
+        try (DataOutputStream out = create(directory.resolve(GeneratedTables.HIRAGANA_TO_ROMAJI))) {
+            CharTrie.compile(HiraganaToRomajiData.prepareHiraToRomaji()).write(out);
+        }
+        try (DataOutputStream out = create(directory.resolve(GeneratedTables.ROMAJI_TO_KANA))) {
+            CharTrie.compile(WanaKanaData.ROMAJI_TO_KANA).write(out);
+        }
+        try (DataOutputStream out = create(directory.resolve(GeneratedTables.KANA_TO_ROMAJI))) {
+            CharTrie.compile(WanaKanaData.KANA_TO_ROMAJI).write(out);
+        }
+        try (DataOutputStream out = create(directory.resolve(GeneratedTables.SCRIPTS))) {
+            ScriptTable.compute().write(out);
+        }
+    }
+
+    private static DataOutputStream create(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class VariantPatternTest {
+
+    private final HiraganaToRomajiConverter hiraganaToRomajiConverter = HiraganaToRomajiConverter.getInstance();
+
+    @Test(dataProvider = "patterns")
+    public void serialize(String input, String expected) {
+        VariantPattern pattern = hiraganaToRomajiConverter.convertToVariantPattern(input);
+        assertEquals(pattern.toString(), expected);
+        assertEquals(VariantPattern.parse(expected), pattern);
+    }
+    @DataProvider
+    public Object[][] patterns() {
+        return new Object[][]{
+                {"さと", "sato"},
+                {"さとう", "sat{o|oh|oo}"},
+                {"おうのこう", "{o|oh|oo}nok{o|oh|oo}"},
+                {"ちゅう", "chu"},
+                {"ええいち", "eeichi"},
+                {"", ""},
+        };
+    }
+
+    @Test
+    public void matchesAllVariants() {
+        for (String input : new String[]{"さとう", "おうのこう", "こうおう", "たのうえ", "りゅうえん", "おおの"}) {
+            VariantPattern pattern = hiraganaToRomajiConverter.convertToVariantPattern(input);
+            List<String> variants = hiraganaToRomajiConverter.convertToVariants(input);
+            assertEquals(pattern.count(), variants.size());
+            for (String variant : variants) {
+                assertTrue(pattern.matches(variant), input + " " + variant);
+                assertFalse(pattern.matches(variant + "x"), input + " " + variant);
+                assertFalse(pattern.matches("x" + variant), input + " " + variant);
+            }
+        }
+    }
+
+    @Test
+    public void matches() {
+        VariantPattern pattern = VariantPattern.parse("sat{o|oh|oo}");
+        assertTrue(pattern.matches("sato"));
+        assertTrue(pattern.matches("satoh"));
+        assertTrue(pattern.matches("satoo"));
+        assertFalse(pattern.matches("sat"));
+        assertFalse(pattern.matches("satou"));
+        assertFalse(pattern.matches("satooo"));
+        assertFalse(pattern.matches("Sato"));
+        assertFalse(pattern.matches(""));
+    }
+
+    @Test
+    public void matchesLongCandidate() {
+        StringBuilder input = new StringBuilder();
+        StringBuilder candidate = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            input.append("こうか");
+            candidate.append(i % 3 == 0 ? "ko" : i % 3 == 1 ? "koh" : "koo").append("ka");
+        }
+        VariantPattern pattern = hiraganaToRomajiConverter.convertToVariantPattern(input.toString());
+        assertTrue(candidate.length() > 63);
+        assertTrue(pattern.matches(candidate));
+        assertFalse(pattern.matches(candidate.append("a")));
+    }
+
+    @Test
+    public void escaping() {
+        VariantPattern pattern = VariantPattern.parse("a\\{b{c|d\\|e}\\\\");
+        assertTrue(pattern.matches("a{bc\\"));
+        assertTrue(pattern.matches("a{bd|e\\"));
+        assertEquals(pattern.toString(), "a\\{b{c|d\\|e}\\\\");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void parseUnclosed() {
+        VariantPattern.parse("sat{o|oh");
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.optimaize.wanakana;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Results must be the same as the ones of the legacy {@link WanaKanaJava}.
+ */
+@SuppressWarnings("deprecation")
+public class WanaKanaTest {
+
+    private final WanaKana wanaKana = WanaKana.getInstance();
+    private final WanaKanaJava wanaKanaJava = new WanaKanaJava(false);
+
+    @Test(dataProvider = "toRomaji")
+    public void toRomaji(String input, String expected) {
+        assertEquals(wanaKana.toRomaji(input), expected);
+        assertEquals(wanaKanaJava.toRomaji(input), expected);
+    }
+    @DataProvider
+    public Object[][] toRomaji() {
+        return new Object[][]{
+                //the ideographic space is kept, unlike in HiraganaToRomajiConverter
+                {"わにかに　が　すごい　だ", "wanikani　ga　sugoi　da"},
+                {"ワニカニ　ガ　スゴイ　ダ", "wanikani　ga　sugoi　da"},
+                {"ワニカニ が すごい だ", "wanikani ga sugoi da"},
+                {"きんにくまん", "kinnikuman"},
+                {"んんにんにんにゃんやん", "nnninninnyan'yan"},
+                {"かっぱ たった しゅっしゅ ちゃっちゃ やっつ", "kappa tatta shusshu chaccha yattsu"},
+                {"こんいちは", "kon'ichiha"},
+                {"romaji", "romaji"},
+                {"", ""},
+        };
+    }
+
+    @Test(dataProvider = "toHiragana")
+    public void toHiragana(String input, String expected) {
+        assertEquals(wanaKana.toHiragana(input), expected);
+        assertEquals(wanaKanaJava.toHiragana(input), expected);
+    }
+    @DataProvider
+    public Object[][] toHiragana() {
+        return new Object[][]{
+                {"wanikani", "わにかに"},
+                {"WaniKani", "わにかに"},
+                {"kitte", "きって"},
+                {"kanto", "かんと"},
+                {"nyan", "にゃn"},
+                {"ltsu xtsu", "っ っ"},
+                {"chi-zu", "ちーず"},
+                {"ワニカニ", "わにかに"},
+                {"ワニかに", "ワニかに"},
+                {"わにかに", "わにかに"},
+                {"ワニwani", "ワニwani"},
+                {"wワニ", "wワニ"},
+                {"ヴァ", "ゔぁ"},
+                //ー and ・ are not Katakana in the original library, so this is Romaji
+                {"ー・", "ー・"},
+                {"ワー", "ワー"},
+                {"", ""},
+        };
+    }
+
+    @Test(dataProvider = "toKatakana")
+    public void toKatakana(String input, String expected) {
+        assertEquals(wanaKana.toKatakana(input), expected);
+        assertEquals(wanaKanaJava.toKatakana(input), expected);
+    }
+    @DataProvider
+    public Object[][] toKatakana() {
+        return new Object[][]{
+                {"わにかに", "ワニカニ"},
+                {"wanikani", "ワニカニ"},
+                {"ワニかに", "ワニかに"},
+                {"ワニカニ", "ワニカニ"},
+                {"わにwani", "わにwani"},
+                {"ゖ", "ヶ"},
+                {"", ""},
+        };
+    }
+
+    @Test(dataProvider = "toKana")
+    public void toKana(String input, String expected) {
+        assertEquals(wanaKana.toKana(input), expected);
+        assertEquals(wanaKanaJava.toKana(input), expected);
+    }
+    @DataProvider
+    public Object[][] toKana() {
+        return new Object[][]{
+                {"wanikani", "わにかに"},
+                {"WANIKANI", "ワニカニ"},
+                {"WaniKani", "ワにカに"},
+                {"TTA", "ッタ"},
+                {"wiwe", "うぃうぇ"},
+        };
+    }
+
+    @Test(dataProvider = "is")
+    public void is(String input, boolean hiragana, boolean katakana, boolean kana, boolean romaji) {
+        assertEquals(wanaKana.isHiragana(input), hiragana);
+        assertEquals(wanaKana.isKatakana(input), katakana);
+        assertEquals(wanaKana.isKana(input), kana);
+        assertEquals(wanaKana.isRomaji(input), romaji);
+        assertEquals(wanaKanaJava.isHiragana(input), hiragana);
+        assertEquals(wanaKanaJava.isKatakana(input), katakana);
+        assertEquals(wanaKanaJava.isKana(input), kana);
+        assertEquals(wanaKanaJava.isRomaji(input), romaji);
+    }
+    @DataProvider
+    public Object[][] is() {
+        return new Object[][]{
+                {"あいう", true, false, true, false},
+                {"アイウ", false, true, true, false},
+                {"あイう", false, false, true, false},
+                {"aiu", false, false, false, true},
+                {"aいu", false, false, false, false},
+                {"ゟ・ー", false, false, false, true},
+                {"ゖヺ", false, false, true, false},
+                {"", true, true, true, true},
+        };
+    }
+
+    @Test
+    public void obsoleteKana() {
+        WanaKana obsolete = WanaKana.builder().useObsoleteKana(true).build();
+        assertTrue(obsolete.isUseObsoleteKana());
+        assertEquals(obsolete.toKana("wiwe"), "ゐゑ");
+        assertEquals(obsolete.toKana("WIWE"), "ヰヱ");
+        assertEquals(new WanaKanaJava(true).toKana("wiwe"), "ゐゑ");
+    }
+
+    @Test
+    public void imeMode() {
+        WanaKana ime = WanaKana.builder().imeMode(true).build();
+        assertTrue(ime.isImeMode());
+        assertFalse(wanaKana.isImeMode());
+        assertEquals(ime.toHiragana("kon'ya"), "こんや");
+        assertEquals(ime.toHiragana("kan'i"), "かんい");
+        assertEquals(wanaKana.toHiragana("kan'i"), "かn'い");
+    }
+
+    /**
+     * The original library loops forever here.
+     */
+    @Test(timeOut = 5000)
+    public void ltsWithoutU() {
+        assertEquals(wanaKana.toHiragana("ltsa"), "lつぁ");
+    }
+
+}
@@ -0,0 +1,109 @@
+package crema.math.algo.combinatorics;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+public class ProductSpaceTest {
+
+    private static RuleOfProductComboBuilder<String> basket() {
+        return new RuleOfProductComboBuilder<String>()
+                .newGroup().variant("apple").variant("banana").variant("orange")
+                .newGroup().variant("chocolate")
+                .newGroup().variant("water").variant("wine");
+    }
+
+    @Test
+    public void sameAsBuild() throws Exception {
+        RuleOfProductComboBuilder<String> builder = basket();
+        ProductSpace<String> space = builder.buildSpace();
+        List<List<String>> built = builder.build();
+        assertEquals(space.size(), builder.computeProductSize());
+        assertEquals(space.stream().collect(Collectors.toList()), built);
+        for (int i = 0; i < built.size(); i++) {
+            assertEquals(space.get(i), built.get(i));
+        }
+        List<List<String>> iterated = new ArrayList<>();
+        space.forEach(iterated::add);
+        assertEquals(iterated, built);
+    }
+
+    @Test
+    public void parallelKeepsOrder() throws Exception {
+        RuleOfProductComboBuilder<Integer> builder = new RuleOfProductComboBuilder<>();
+        for (int group = 0; group < 6; group++) {
+            builder.newGroup();
+            for (int variant = 0; variant <= group % 4; variant++) {
+                builder.variant(group * 10 + variant);
+            }
+        }
+        ProductSpace<Integer> space = builder.buildSpace();
+        assertEquals(space.stream().parallel().collect(Collectors.toList()), builder.build());
+        assertEquals(space.stream().parallel().count(), space.size());
+    }
+
+    @Test
+    public void getFromHugeSpace() throws Exception {
+        RuleOfProductComboBuilder<Integer> builder = new RuleOfProductComboBuilder<>();
+        for (int group = 0; group < 39; group++) {
+            builder.newGroup().variant(0).variant(1).variant(2);
+        }
+        ProductSpace<Integer> space = builder.buildSpace();
+        assertEquals(space.size(), 4052555153018976267L);
+        List<Integer> last = space.get(space.size() - 1);
+        assertEquals(last.size(), 39);
+        for (int variant : last) {
+            assertEquals(variant, 2);
+        }
+        //1 + 2 * 3 + 1 * 9
+        assertEquals(space.get(16).subList(0, 4), Arrays.asList(1, 2, 1, 0));
+        assertEquals(space.stream().skip(16).findFirst().get(), space.get(16));
+    }
+
+    @Test
+    public void splitsByIndex() throws Exception {
+        ProductSpace<String> space = basket().buildSpace();
+        Spliterator<List<String>> suffix = space.spliterator();
+        Spliterator<List<String>> prefix = suffix.trySplit();
+        assertEquals(prefix.estimateSize(), 3);
+        assertEquals(suffix.estimateSize(), 3);
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.ORDERED));
+        suffix.tryAdvance(combo -> assertEquals(combo, Arrays.asList("apple", "chocolate", "wine")));
+        assertNull(suffix.trySplit());
+        assertEquals(suffix.estimateSize(), 2);
+    }
+
+    @Test
+    public void notAffectedByBuilder() throws Exception {
+        RuleOfProductComboBuilder<String> builder = basket();
+        ProductSpace<String> space = builder.buildSpace();
+        builder.variant("beer");
+        assertEquals(space.size(), 6);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void indexOutOfBounds() throws Exception {
+        basket().buildSpace().get(6);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void tooLarge() throws Exception {
+        RuleOfProductComboBuilder<Integer> builder = new RuleOfProductComboBuilder<>();
+        for (int group = 0; group < 64; group++) {
+            builder.newGroup().variant(0).variant(1).variant(2);
+        }
+        builder.buildSpace();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void empty() throws Exception {
+        new RuleOfProductComboBuilder<String>().buildSpace();
+    }
+
+}
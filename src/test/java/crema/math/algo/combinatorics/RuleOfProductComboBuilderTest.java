@@ -64,4 +64,56 @@ public class RuleOfProductComboBuilderTest {
         assertTrue(builder.isGroupEmpty());
         builder.variant("foo");
     }
+
+    @Test
+    public void buildShared() throws Exception {
+        RuleOfProductComboBuilder<String> builder = new RuleOfProductComboBuilder<String>()
+                .newGroup().variant("apple").variant("banana").variant("orange")
+                .newGroup().variant("chocolate")
+                .newGroup().variant("water").variant("wine");
+
+        List<List<String>> result = builder.buildShared();
+        assertEquals(result, builder.build());
+        assertEquals(result.get(5).get(2), "wine");
+        assertEquals(result.get(5).toString(), "[orange, chocolate, wine]");
+        assertEquals(result.get(5).hashCode(), Arrays.asList("orange", "chocolate", "wine").hashCode());
+
+        //[apple, chocolate] is the same list in both
+        SharedPrefixList<String> water = (SharedPrefixList<String>) result.get(0);
+        SharedPrefixList<String> wine = (SharedPrefixList<String>) result.get(3);
+        assertSame(water.prefix(), wine.prefix());
+        assertEquals(water.prefix(), Arrays.asList("apple", "chocolate"));
+    }
+
+    @Test
+    public void buildSharedWithSingleVariantGroups() throws Exception {
+        RuleOfProductComboBuilder<String> builder = new RuleOfProductComboBuilder<String>()
+                .newGroup().variant("a")
+                .newGroup().variant("b")
+                .newGroup().variant("c").variant("C")
+                .newGroup().variant("d")
+                .newGroup().variant("e")
+                .newGroup().variant("f").variant("F").variant("φ")
+                .newGroup().variant("g");
+
+        List<List<String>> expected = builder.build();
+        List<List<String>> result = builder.buildShared();
+        assertEquals(result, expected);
+        for (int i = 0; i < expected.size(); i++) {
+            for (int j = 0; j < expected.get(i).size(); j++) {
+                assertEquals(result.get(i).get(j), expected.get(i).get(j));
+            }
+            assertEquals(result.get(i).toArray(), expected.get(i).toArray());
+        }
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void buildSharedIsImmutable() throws Exception {
+        new RuleOfProductComboBuilder<String>().variant("foo").buildShared().get(0).set(0, "bar");
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void buildSharedIndexOutOfBounds() throws Exception {
+        new RuleOfProductComboBuilder<String>().variant("foo").buildShared().get(0).get(1);
+    }
 }